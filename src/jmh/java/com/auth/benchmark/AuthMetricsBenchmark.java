@@ -0,0 +1,63 @@
+package com.auth.benchmark;
+
+import com.auth.observability.AuthMetrics;
+import com.auth.observability.AuthMetrics.Operation;
+import com.auth.observability.AuthMetrics.Outcome;
+import com.auth.observability.AuthMetrics.Phase;
+import com.auth.observability.ServerTiming;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the timers one login records - rate limit, lookup, password check and token signing
+ * phases plus the outcome - into the Prometheus registry the service exports, against the same
+ * calls with {@code app.metrics.phases.enabled=false}.
+ *
+ * The budget is 1% of a login: compare the difference with {@code AuthServiceBenchmark.login}
+ * (milliseconds even at bcrypt cost 4), not with zero. {@code contended} records from four
+ * threads at once, as a busy instance would.
+ *
+ * mvn -Pbenchmarks -DskipTests -Djacoco.skip=true verify -Djmh.args="AuthMetricsBenchmark|AuthServiceBenchmark.login"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthMetricsBenchmark {
+
+    @Param({"true", "false"})
+    public boolean enabled;
+
+    private AuthMetrics metrics;
+
+    @Setup
+    public void setUp() {
+        metrics = new AuthMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT), new ServerTiming(false), enabled);
+    }
+
+    @Benchmark
+    public long login() {
+        return recordLogin();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long contended() {
+        return recordLogin();
+    }
+
+    private long recordLogin() {
+        long started = metrics.start();
+        long t = metrics.phase(Phase.RATE_LIMIT, started);
+        t = metrics.phase(Phase.LOOKUP, t);
+        t = metrics.phase(Phase.PASSWORD_VERIFY, t);
+        t = metrics.phase(Phase.TOKEN_SIGN, t);
+        metrics.outcome(Operation.LOGIN, Outcome.SUCCESS, started);
+        return t;
+    }
+}
@@ -0,0 +1,84 @@
+package com.auth.benchmark;
+
+import com.auth.dto.AuthResponse;
+import com.auth.dto.LoginRequest;
+import com.auth.dto.SignupRequest;
+import com.auth.entity.User;
+import com.auth.repository.UserRepository;
+import com.auth.service.AuthService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link AuthService#login} and {@link AuthService#signup} end to end - validation, hashing
+ * pool, Hibernate, transactions, JWT - on the in-memory H2 context of {@link BenchmarkApplication}.
+ * At bcrypt cost 4 the hash is negligible and the numbers show the service's own overhead; at
+ * 10 they show what a request costs with a realistic hash. Rate limiting is off so repeated
+ * logins for one account are not locked out.
+ *
+ * mvn -Pbenchmarks -DskipTests -Djacoco.skip=true verify -Djmh.args="AuthServiceBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthServiceBenchmark {
+
+    private static final int USERS = 1_000;
+    private static final String PASSWORD = "SecurePass123!";
+
+    @Param({"4", "10"})
+    public int bcryptStrength;
+
+    private ConfigurableApplicationContext context;
+    private AuthService authService;
+    private final AtomicLong signups = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("auth-service-" + bcryptStrength,
+                "--app.password.bcrypt.strength=" + bcryptStrength,
+                "--app.rate-limit.enabled=false");
+        authService = context.getBean(AuthService.class);
+
+        String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(User.builder()
+                    .username("user" + i)
+                    .name("User " + i)
+                    .email("user" + i + "@example.com")
+                    .mobile("1234567890")
+                    .passwordHash(hash)
+                    .enabled(true)
+                    .build());
+        }
+        context.getBean(UserRepository.class).saveAll(users);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AuthResponse login() {
+        return authService.login(new LoginRequest("user" + ThreadLocalRandom.current().nextInt(USERS), PASSWORD));
+    }
+
+    @Benchmark
+    public AuthResponse signup() {
+        long n = signups.incrementAndGet();
+        return authService.signup(new SignupRequest("signup" + n, "Signup User", "signup" + n + "@example.com",
+                "1234567890", PASSWORD));
+    }
+}
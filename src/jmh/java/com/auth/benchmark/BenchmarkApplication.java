@@ -0,0 +1,49 @@
+package com.auth.benchmark;
+
+import com.auth.UserAuthenticationApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the real application context without a web server, on an in-memory H2 database and
+ * with email delivery and the background reapers off, so benchmarks go through the same
+ * Spring Data / Hibernate stack as production but run anywhere.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * @param overrides extra {@code --key=value} settings; they win over the defaults here
+     */
+    static ConfigurableApplicationContext start(String database, String... overrides) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.profiles.active=bench",
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--spring.flyway.enabled=false",
+                "--app.email.enabled=false",
+                "--app.email.outbox.enabled=false",
+                "--app.reaper.verification-tokens.enabled=false",
+                "--app.reaper.unverified-users.enabled=false",
+                "--management.health.mail.enabled=false",
+                "--app.ids.node-id=0",
+                "--logging.level.root=WARN",
+                "--logging.level.com.auth=WARN"));
+        args.addAll(List.of(overrides));
+        return new SpringApplicationBuilder(UserAuthenticationApplication.class)
+                .web(WebApplicationType.NONE)
+                // Command-line arguments, so they win over application.yml
+                .run(args.toArray(String[]::new));
+    }
+}
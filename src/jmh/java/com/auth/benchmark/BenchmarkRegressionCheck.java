@@ -0,0 +1,145 @@
+package com.auth.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file with the stored baseline and fails the build when a
+ * benchmark got worse by more than the threshold. Throughput scores must not drop; average,
+ * sample and single-shot times must not rise. A change only counts when it is also outside the
+ * noise: the two 99.9% confidence intervals ({@code score +/- scoreError}) must not overlap, so a
+ * run that merely lands at the other end of a wide interval passes. A change past the threshold
+ * inside the noise is marked {@code within error}. Benchmarks are matched by name and parameters;
+ * ones missing from either side are listed but never fail the check, so a partial run
+ * ({@code -Djmh.args="JwtBenchmark"}) only checks what it ran.
+ *
+ * With {@code update} the results are merged into the baseline instead - do that on the
+ * machine the check will run on, since scores only compare on the same hardware.
+ *
+ * Arguments: {@code <result.json> <baseline.json> <threshold-percent> <update>}
+ */
+public final class BenchmarkRegressionCheck {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private BenchmarkRegressionCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 4) {
+            throw new IllegalArgumentException("Usage: BenchmarkRegressionCheck <result.json> <baseline.json> <threshold-percent> <update>");
+        }
+        File resultFile = new File(args[0]);
+        File baselineFile = new File(args[1]);
+        double thresholdPercent = Double.parseDouble(args[2]);
+        boolean update = Boolean.parseBoolean(args[3]);
+
+        if (!resultFile.isFile()) {
+            System.out.println("No JMH results at " + resultFile + " - nothing to compare");
+            return;
+        }
+        Map<String, JsonNode> results = index(MAPPER.readTree(resultFile));
+        Map<String, JsonNode> baseline = baselineFile.isFile() ? index(MAPPER.readTree(baselineFile)) : new LinkedHashMap<>();
+
+        if (update) {
+            results.forEach((key, result) -> baseline.put(key, summary(result)));
+            ArrayNode merged = MAPPER.createArrayNode();
+            baseline.values().forEach(merged::add);
+            MAPPER.writeValue(baselineFile, merged);
+            System.out.println("Updated " + results.size() + " benchmarks in baseline " + baselineFile);
+            return;
+        }
+        if (baseline.isEmpty()) {
+            System.out.println("No baseline at " + baselineFile + " - run with -Djmh.baseline.update=true to record one");
+            return;
+        }
+
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : results.entrySet()) {
+            JsonNode current = entry.getValue();
+            JsonNode previous = baseline.get(entry.getKey());
+            String unit = current.path("primaryMetric").path("scoreUnit").asText();
+            double score = current.path("primaryMetric").path("score").asDouble();
+            if (previous == null) {
+                System.out.printf("%-70s %14s %14.3f %9s  %s (new)%n", entry.getKey(), "-", score, "-", unit);
+                continue;
+            }
+            double baselineScore = previous.path("primaryMetric").path("score").asDouble();
+            double changePercent = (score - baselineScore) / baselineScore * 100;
+            // For throughput higher is better, for every time-based mode lower is better
+            boolean higherIsBetter = "thrpt".equals(current.path("mode").asText());
+            double worsePercent = higherIsBetter ? -changePercent : changePercent;
+            double gap = higherIsBetter ? baselineScore - score : score - baselineScore;
+            boolean beyondError = gap > scoreError(previous) + scoreError(current);
+            boolean regressed = worsePercent > thresholdPercent && beyondError;
+            String verdict = regressed ? "  REGRESSION" : worsePercent > thresholdPercent ? "  within error" : "";
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), baselineScore, score,
+                    changePercent, unit, verdict);
+            if (regressed) {
+                regressions.add(entry.getKey());
+            }
+        }
+        for (String key : baseline.keySet()) {
+            if (!results.containsKey(key)) {
+                System.out.printf("%-70s (not run)%n", key);
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            System.out.println(regressions.size() + " benchmark(s) regressed by more than " + thresholdPercent
+                    + "% and their error: " + regressions);
+            System.exit(1);
+        }
+        System.out.println("No benchmark regressed by more than " + thresholdPercent + "%");
+    }
+
+    // JMH reports NaN when there were too few iterations to estimate it
+    private static double scoreError(JsonNode result) {
+        double error = result.path("primaryMetric").path("scoreError").asDouble();
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    // Only what the comparison needs - raw samples and local JVM paths stay out of the repository
+    private static JsonNode summary(JsonNode result) {
+        ObjectNode summary = MAPPER.createObjectNode();
+        for (String field : List.of("benchmark", "mode", "params", "jdkVersion", "measurementIterations", "measurementTime")) {
+            if (result.has(field)) {
+                summary.set(field, result.get(field));
+            }
+        }
+        ObjectNode metric = summary.putObject("primaryMetric");
+        for (String field : List.of("score", "scoreError", "scoreUnit")) {
+            metric.set(field, result.path("primaryMetric").get(field));
+        }
+        return summary;
+    }
+
+    // "com.auth.benchmark.BCryptBenchmark.encode {strength=10}" -> its JMH result
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> indexed = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            Map<String, String> params = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                params.put(field.getKey(), field.getValue().asText());
+            }
+            String key = result.path("benchmark").asText() + (params.isEmpty() ? "" : " " + params);
+            indexed.put(key, result);
+        }
+        return indexed;
+    }
+}
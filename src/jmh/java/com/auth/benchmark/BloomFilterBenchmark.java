@@ -0,0 +1,73 @@
+package com.auth.benchmark;
+
+import com.auth.util.BloomFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups/sec of the availability {@link BloomFilter} at one million users, for names that
+ * are absent (the common keystroke case, answered without SQL) and present (forwarded to
+ * the database). Setup also prints the filter's memory per million users and the false
+ * positive rate measured over one million absent names, for each target rate.
+ *
+ * mvn -Pbenchmarks -DskipTests -Djacoco.skip=true verify -Djmh.args="BloomFilterBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BloomFilterBenchmark {
+
+    private static final int USERS = 1_000_000;
+    private static final int PROBES = 1_000_000;
+
+    @Param({"0.01", "0.001"})
+    public double falsePositiveRate;
+
+    private BloomFilter filter;
+    private String[] present;
+    private String[] absent;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        filter = new BloomFilter(USERS, falsePositiveRate);
+        present = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            present[i] = "user" + i + "@example.com";
+            filter.put(present[i]);
+        }
+        absent = new String[PROBES];
+        int falsePositives = 0;
+        for (int i = 0; i < PROBES; i++) {
+            absent[i] = "candidate" + i + "@example.com";
+            if (filter.mightContain(absent[i])) {
+                falsePositives++;
+            }
+        }
+        System.out.printf("%nBloom filter for %,d users at target %.3f%%: %,d bytes (%.2f MB per million), k=%d, "
+                        + "measured false-positive rate %.4f%%%n",
+                USERS, falsePositiveRate * 100, filter.memoryBytes(), filter.memoryBytes() / 1_048_576.0,
+                filter.hashCount(), falsePositives * 100.0 / PROBES);
+    }
+
+    @Benchmark
+    public boolean absentName() {
+        return filter.mightContain(absent[nextIndex()]);
+    }
+
+    @Benchmark
+    public boolean presentName() {
+        return filter.mightContain(present[nextIndex()]);
+    }
+
+    // Walk the arrays so lookups hit different cache lines, as real names would
+    private int nextIndex() {
+        int index = next;
+        next = index + 1 == USERS ? 0 : index + 1;
+        return index;
+    }
+}
@@ -0,0 +1,66 @@
+package com.auth.benchmark;
+
+import com.auth.dto.AuthResponse;
+import com.auth.dto.LoginRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JSON layer of the login endpoint: reading a {@link LoginRequest} and writing an
+ * {@link AuthResponse} with a JWT, using an ObjectMapper configured the way Spring MVC builds
+ * it. {@code writeResponseWithWriter} reuses a type-bound {@link ObjectWriter}.
+ *
+ * mvn -Pbenchmarks -DskipTests -Djacoco.skip=true verify -Djmh.args="JsonBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter responseWriter;
+    private ObjectReader requestReader;
+    private AuthResponse response;
+    private byte[] request;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        responseWriter = objectMapper.writerFor(AuthResponse.class);
+        requestReader = objectMapper.readerFor(LoginRequest.class);
+        response = AuthResponse.builder()
+                .token("eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiJiZW5jaHVzZXIiLCJ1c2VySWQiOjQyLCJpYXQiOjE3MDAwMDAwMDAs"
+                        + "ImV4cCI6MTcwMDA4NjQwMH0.c2lnbmF0dXJlLXBsYWNlaG9sZGVyLWZvci1iZW5jaG1hcmtz")
+                .message("Login successful")
+                .username("benchuser")
+                .email("benchuser@example.com")
+                .build();
+        request = "{\"usernameOrEmail\":\"benchuser@example.com\",\"password\":\"SecurePass123!\"}"
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] writeResponseWithWriter() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public LoginRequest readRequest() throws IOException {
+        return requestReader.readValue(request);
+    }
+}
@@ -0,0 +1,87 @@
+package com.auth.benchmark;
+
+import com.auth.util.JwtUtil;
+import com.auth.util.ParsedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validations/sec of {@link JwtUtil}. {@code legacyValidate} reproduces the previous
+ * implementation - key derivation, parser construction and a full signature check for the
+ * username and again for the expiry - next to the single-parse {@link JwtUtil#verify(String)}.
+ * {@code cachedVerify} presents the same token repeatedly with {@code jwt.cache.enabled}.
+ *
+ * mvn -Pbenchmarks -DskipTests -Djacoco.skip=true verify -Djmh.args="JwtBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private static final String SECRET = "your-secret-key-change-in-production-min-256-bits-please-use-a-strong-secret-key";
+
+    private JwtUtil jwtUtil;
+    private JwtUtil cachedJwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+        jwtUtil.init();
+        token = jwtUtil.generateToken("benchuser", 42L);
+
+        cachedJwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(cachedJwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(cachedJwtUtil, "expiration", 86_400_000L);
+        ReflectionTestUtils.setField(cachedJwtUtil, "cacheEnabled", true);
+        ReflectionTestUtils.setField(cachedJwtUtil, "cacheMaxSize", 10_000);
+        cachedJwtUtil.init();
+    }
+
+    @Benchmark
+    public boolean legacyValidate() {
+        Claims first = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        Claims second = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        return first.getSubject().equals("benchuser") && !second.getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token, "benchuser");
+    }
+
+    @Benchmark
+    public ParsedToken verify() {
+        return jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public ParsedToken cachedVerify() {
+        return cachedJwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("benchuser", 42L);
+    }
+}
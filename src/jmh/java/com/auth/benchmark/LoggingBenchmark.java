@@ -0,0 +1,138 @@
+package com.auth.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.auth.observability.AsyncLogAppender;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Logins per second that the log output of a login allows, from four request threads at once.
+ * {@code before} makes the calls a successful login made before logging went asynchronous: four
+ * INFO lines from the controller and service plus the JWT DEBUG line. {@code after} makes the
+ * calls it makes now: one structured INFO line, with the DEBUG line off.
+ *
+ * <ul>
+ *   <li>{@code off} - logging disabled, the floor</li>
+ *   <li>{@code sync} - the previous configuration: a text file written on the request thread,
+ *       {@code com.auth} at DEBUG</li>
+ *   <li>{@code async} - {@code logback-spring.xml}: JSON file behind an {@link AsyncLogAppender},
+ *       {@code com.auth} at INFO. A saturated queue drops events; the teardown prints how many</li>
+ * </ul>
+ *
+ * Each {@code AuthServiceBenchmark.login} takes milliseconds of bcrypt, so end to end the
+ * difference only shows as CPU and lock contention under load; this isolates it.
+ *
+ * mvn -Pbenchmarks -DskipTests -Djacoco.skip=true verify -Djmh.args="LoggingBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    private static final String LOGIN = "alice@example.com";
+    private static final String USERNAME = "alice";
+    private static final String EMAIL = "alice@example.com";
+    private static final Long USER_ID = 7_201_349_118_322_688L;
+
+    private static final Logger controller = LoggerFactory.getLogger("com.auth.controller.AuthController");
+    private static final Logger service = LoggerFactory.getLogger("com.auth.service.AuthService");
+    private static final Logger jwt = LoggerFactory.getLogger("com.auth.util.JwtUtil");
+
+    @Param({"off", "sync", "async"})
+    public String output;
+
+    private LoggerContext context;
+    private AsyncLogAppender async;
+    private Path directory;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("logging-benchmark");
+        context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        ch.qos.logback.classic.Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        switch (output) {
+            case "off" -> root.setLevel(Level.OFF);
+            case "sync" -> {
+                PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+                encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n");
+                root.setLevel(Level.INFO);
+                context.getLogger("com.auth").setLevel(Level.DEBUG);
+                root.addAppender(file(encoder));
+            }
+            case "async" -> {
+                async = new AsyncLogAppender();
+                async.setName("ASYNC_FILE");
+                async.setContext(context);
+                async.setQueueSize(8192);
+                async.setNeverBlock(true);
+                async.addAppender(file(new LogstashEncoder()));
+                async.start();
+                root.setLevel(Level.INFO);
+                context.getLogger("com.auth").setLevel(Level.INFO);
+                root.addAppender(async);
+            }
+            default -> throw new IllegalArgumentException("Unknown output " + output);
+        }
+    }
+
+    private Appender<ILoggingEvent> file(Encoder<ILoggingEvent> encoder) {
+        encoder.setContext(context);
+        encoder.start();
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setName("FILE");
+        appender.setContext(context);
+        appender.setFile(directory.resolve("auth-service.log").toString());
+        appender.setEncoder(encoder);
+        appender.start();
+        return appender;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (async != null) {
+            System.out.println("\nDropped " + async.getDropped() + " events");
+        }
+        context.reset();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void before() {
+        controller.info("Received login request for: {}", LOGIN);
+        service.info("Processing login request for: {}", LOGIN);
+        jwt.debug("Generating JWT token for user: {}", USERNAME);
+        service.info("Login successful for user ID: {}, username: {}, email: {}", USER_ID, USERNAME, EMAIL);
+        controller.info("Login request processed successfully for: {}", LOGIN);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void after() {
+        jwt.debug("Generating JWT token for user: {}", USERNAME);
+        service.info("Login successful {} {}", kv("userId", USER_ID), kv("username", USERNAME));
+    }
+}
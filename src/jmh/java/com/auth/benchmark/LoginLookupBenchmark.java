@@ -0,0 +1,69 @@
+package com.auth.benchmark;
+
+import com.auth.dto.UserCredentials;
+import com.auth.entity.User;
+import com.auth.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the login lookup through the real Spring Data / Hibernate stack, on an in-memory
+ * H2 database so it runs anywhere. {@code entity} hydrates a managed {@link User} the way
+ * login used to; {@code credentials} is the record projection login uses now.
+ * Run with the GC profiler to see bytes allocated per lookup:
+ *
+ * mvn -Pbenchmarks -DskipTests -Djacoco.skip=true verify -Djmh.args="LoginLookupBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoginLookupBenchmark {
+
+    private static final int USERS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("bench");
+        userRepository = context.getBean(UserRepository.class);
+
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(User.builder()
+                    .username("user" + i)
+                    .name("User " + i)
+                    .email("user" + i + "@example.com")
+                    .mobile("1234567890")
+                    .passwordHash("$2a$10$abcdefghijklmnopqrstuuABCDEFGHIJKLMNOPQRSTUVWXYZ01234")
+                    .enabled(true)
+                    .build());
+        }
+        userRepository.saveAll(users);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<User> entity() {
+        return userRepository.findByUsername("user" + ThreadLocalRandom.current().nextInt(USERS));
+    }
+
+    @Benchmark
+    public Optional<UserCredentials> credentials() {
+        return userRepository.findCredentialsByUsername("user" + ThreadLocalRandom.current().nextInt(USERS));
+    }
+}
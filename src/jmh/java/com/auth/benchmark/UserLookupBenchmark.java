@@ -0,0 +1,145 @@
+package com.auth.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login lookup latency against a MySQL {@code users} table with {@code bench.rows} rows
+ * (10M by default), migrated with the application's Flyway scripts and seeded on first run.
+ *
+ * {@code legacy} is the previous path: {@code LOWER(username) = LOWER(?)} and, on a miss,
+ * {@code UPPER(email) = UPPER(?)} - two full scans. {@code indexed} is the current path:
+ * collation equality on {@code uk_users_username}, or one union of both unique keys when
+ * the input contains '@'. Setup fails if EXPLAIN does not show those keys.
+ *
+ * Needs a scratch database, e.g.
+ * mvn -Pbenchmarks -DskipTests -Djacoco.skip=true verify -Djmh.args="UserLookupBenchmark
+ *     -jvmArgs -Dbench.db.url=jdbc:mysql://localhost:3306/auth_bench?createDatabaseIfNotExist=true"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class UserLookupBenchmark {
+
+    private static final String COLUMNS = "id, username, email, password_hash, enabled";
+
+    @Param({"username", "email", "unknown"})
+    public String login;
+
+    @Param({"legacy", "indexed"})
+    public String path;
+
+    private Connection connection;
+    private PreparedStatement lowerUsername;
+    private PreparedStatement upperEmail;
+    private PreparedStatement byUsername;
+    private PreparedStatement byEmailOrUsername;
+    private long rows;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url = System.getProperty("bench.db.url",
+                "jdbc:mysql://localhost:3306/auth_bench?createDatabaseIfNotExist=true&useSSL=false&allowPublicKeyRetrieval=true");
+        String user = System.getProperty("bench.db.username", "root");
+        String password = System.getProperty("bench.db.password", "");
+        rows = Long.getLong("bench.rows", 10_000_000L);
+
+        Flyway.configure().dataSource(url, user, password).locations("classpath:db/migration").load().migrate();
+        connection = DriverManager.getConnection(url, user, password);
+        seed();
+        verifyPlan("SELECT " + COLUMNS + " FROM users WHERE username = 'User42'", "uk_users_username");
+        verifyPlan("SELECT " + COLUMNS + " FROM users WHERE email = 'user42@example.com' OR username = 'user42@example.com'",
+                "uk_users_email");
+
+        lowerUsername = connection.prepareStatement("SELECT " + COLUMNS + " FROM users WHERE LOWER(username) = LOWER(?)");
+        upperEmail = connection.prepareStatement("SELECT " + COLUMNS + " FROM users WHERE UPPER(email) = UPPER(?)");
+        byUsername = connection.prepareStatement("SELECT " + COLUMNS + " FROM users WHERE username = ?");
+        byEmailOrUsername = connection.prepareStatement("SELECT " + COLUMNS + " FROM users WHERE email = ? OR username = ?");
+    }
+
+    private void seed() throws SQLException {
+        long existing;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM users")) {
+            rs.next();
+            existing = rs.getLong(1);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET SESSION cte_max_recursion_depth = 1000000");
+        }
+        String insert = "INSERT INTO users (username, name, email, mobile, password_hash, enabled) " +
+                "WITH RECURSIVE seq (n) AS (SELECT ? UNION ALL SELECT n + 1 FROM seq WHERE n < ?) " +
+                "SELECT CONCAT('user', n), CONCAT('User ', n), CONCAT('user', n, '@example.com'), '1234567890', " +
+                "'$2a$10$abcdefghijklmnopqrstuuABCDEFGHIJKLMNOPQRSTUVWXYZ01234', TRUE FROM seq";
+        try (PreparedStatement statement = connection.prepareStatement(insert)) {
+            for (long from = existing; from < rows; from += 1_000_000) {
+                statement.setLong(1, from);
+                statement.setLong(2, Math.min(rows, from + 1_000_000) - 1);
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    private void verifyPlan(String query, String expectedKey) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet plan = statement.executeQuery("EXPLAIN " + query)) {
+            plan.next();
+            String key = plan.getString("key");
+            if (key == null || !key.contains(expectedKey)) {
+                throw new IllegalStateException("Expected " + expectedKey + " for [" + query + "] but plan used " + key);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    private String nextLogin() {
+        long n = ThreadLocalRandom.current().nextLong(rows);
+        return switch (login) {
+            case "username" -> "USER" + n;
+            case "email" -> "User" + n + "@Example.com";
+            default -> "nobody" + n;
+        };
+    }
+
+    @Benchmark
+    public boolean lookup() throws SQLException {
+        String value = nextLogin();
+        if ("legacy".equals(path)) {
+            lowerUsername.setString(1, value);
+            if (found(lowerUsername)) {
+                return true;
+            }
+            upperEmail.setString(1, value);
+            return found(upperEmail);
+        }
+        if (value.indexOf('@') < 0) {
+            byUsername.setString(1, value);
+            return found(byUsername);
+        }
+        byEmailOrUsername.setString(1, value);
+        byEmailOrUsername.setString(2, value);
+        return found(byEmailOrUsername);
+    }
+
+    private static boolean found(PreparedStatement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            return rs.next();
+        }
+    }
+}
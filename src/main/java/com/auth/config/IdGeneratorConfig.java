@@ -0,0 +1,36 @@
+package com.auth.config;
+
+import com.auth.entity.SnowflakeIdentifierGenerator;
+import com.auth.util.SnowflakeIdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Primary keys for {@code users} and {@code email_outbox}. Every instance writing to the same
+ * database needs its own {@code app.ids.node-id} (0-1023); two instances with the same node id
+ * issue the same ids. There is no default outside the dev profile, so an instance that was not
+ * numbered fails to start instead of sharing a node id with another one.
+ */
+@Configuration
+public class IdGeneratorConfig {
+    private static final Logger logger = LoggerFactory.getLogger(IdGeneratorConfig.class);
+
+    @Bean
+    public SnowflakeIdGenerator snowflakeIdGenerator(@Value("${app.ids.node-id:}") String nodeId) {
+        if (nodeId.isBlank()) {
+            throw new IllegalStateException("app.ids.node-id is not set; set ID_NODE_ID (0-"
+                    + SnowflakeIdGenerator.MAX_NODE_ID + ") to a different value on every instance sharing the database");
+        }
+        logger.info("Generating primary keys as Snowflake node {}", nodeId.trim());
+        return new SnowflakeIdGenerator(Integer.parseInt(nodeId.trim()));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer snowflakeIdHibernateProperties(SnowflakeIdGenerator snowflakeIdGenerator) {
+        return properties -> properties.put(SnowflakeIdentifierGenerator.GENERATOR_SETTING, snowflakeIdGenerator);
+    }
+}
@@ -0,0 +1,29 @@
+package com.auth.config;
+
+import com.auth.observability.jfr.RepositoryQueryEvents;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Java Flight Recorder events for the repositories; the service events are emitted inline.
+ */
+@Configuration
+public class JfrConfig {
+
+    // Static: post-processors are created before the rest of the configuration
+    @Bean
+    public static BeanPostProcessor repositoryQueryEventPostProcessor() {
+        RepositoryQueryEvents events = new RepositoryQueryEvents();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(events));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.auth.config;
+
+import com.auth.mail.PooledJavaMailSender;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Properties;
+
+/**
+ * Replaces Spring Boot's per-send {@code JavaMailSenderImpl} with a {@link PooledJavaMailSender}
+ * configured from the same {@code spring.mail.*} properties.
+ */
+@Configuration
+@EnableConfigurationProperties(MailProperties.class)
+public class MailConfig {
+
+    @Bean
+    public PooledJavaMailSender mailSender(MailProperties properties,
+                                           @Value("${app.email.pool.max-connections:4}") int maxConnections,
+                                           @Value("${app.email.pool.max-messages-per-connection:100}") int maxMessagesPerConnection,
+                                           @Value("${app.email.pool.max-idle-ms:60000}") long maxIdleMillis,
+                                           @Value("${app.email.pool.validate-after-idle-ms:5000}") long validateAfterIdleMillis,
+                                           @Value("${app.email.pool.borrow-timeout-ms:30000}") long borrowTimeoutMillis) {
+        PooledJavaMailSender sender = new PooledJavaMailSender(maxConnections, maxMessagesPerConnection,
+                maxIdleMillis, validateAfterIdleMillis, borrowTimeoutMillis);
+        sender.setHost(properties.getHost());
+        if (properties.getPort() != null) {
+            sender.setPort(properties.getPort());
+        }
+        sender.setUsername(properties.getUsername());
+        sender.setPassword(properties.getPassword());
+        sender.setProtocol(properties.getProtocol());
+        if (properties.getDefaultEncoding() != null) {
+            sender.setDefaultEncoding(properties.getDefaultEncoding().name());
+        }
+        if (!properties.getProperties().isEmpty()) {
+            Properties javaMailProperties = new Properties();
+            javaMailProperties.putAll(properties.getProperties());
+            sender.setJavaMailProperties(javaMailProperties);
+        }
+        return sender;
+    }
+}
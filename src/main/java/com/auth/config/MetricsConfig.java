@@ -0,0 +1,75 @@
+package com.auth.config;
+
+import ch.qos.logback.classic.LoggerContext;
+import com.auth.observability.AsyncLogAppender;
+import com.auth.util.JwtUtil;
+import com.auth.util.NegativeLookupCache;
+import com.auth.util.VerifiedTokenCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application meters, available under {@code /actuator/metrics}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder jwtCacheMetrics(JwtUtil jwtUtil) {
+        return registry -> {
+            VerifiedTokenCache cache = jwtUtil.getTokenCache();
+            if (cache == null) {
+                return;
+            }
+            FunctionCounter.builder("auth.jwt.cache.requests", cache, VerifiedTokenCache::getHits)
+                    .tag("result", "hit")
+                    .description("Bearer tokens served from the verified-token cache")
+                    .register(registry);
+            FunctionCounter.builder("auth.jwt.cache.requests", cache, VerifiedTokenCache::getMisses)
+                    .tag("result", "miss")
+                    .description("Bearer tokens that needed full signature verification")
+                    .register(registry);
+            FunctionCounter.builder("auth.jwt.cache.evictions", cache, VerifiedTokenCache::getEvictions)
+                    .description("Expired or overflowing entries removed from the verified-token cache")
+                    .register(registry);
+            Gauge.builder("auth.jwt.cache.size", cache, VerifiedTokenCache::size)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder negativeLookupCacheMetrics(NegativeLookupCache cache) {
+        return registry -> {
+            FunctionCounter.builder("auth.login.negative-cache.hits", cache, NegativeLookupCache::getHits)
+                    .description("Logins for unknown identifiers answered without a database query")
+                    .register(registry);
+            Gauge.builder("auth.login.negative-cache.size", cache, NegativeLookupCache::size)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder asyncLogMetrics() {
+        return registry -> {
+            if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+                return;
+            }
+            context.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders().forEachRemaining(appender -> {
+                if (appender instanceof AsyncLogAppender async) {
+                    FunctionCounter.builder("auth.logging.events.dropped", async, AsyncLogAppender::getDropped)
+                            .tag("appender", async.getName())
+                            .description("Log events discarded because the appender's queue was (nearly) full")
+                            .register(registry);
+                    Gauge.builder("auth.logging.queue.remaining", async, AsyncLogAppender::getRemainingCapacity)
+                            .tag("appender", async.getName())
+                            .register(registry);
+                }
+            });
+        };
+    }
+}
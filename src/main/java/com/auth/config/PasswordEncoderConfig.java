@@ -0,0 +1,45 @@
+package com.auth.config;
+
+import com.auth.security.BCryptCostCalibrator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Password storage format. New hashes are written as {@code {id}hash} with the encoder selected by
+ * {@code app.password.encoder}; legacy hashes without a prefix are plain bcrypt and keep matching.
+ * Hashes in an older format or below the current bcrypt cost are upgraded on the next successful
+ * login (see {@link com.auth.service.PasswordRehashService}).
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${app.password.encoder:bcrypt}") String encoderId,
+                                           @Value("${app.password.bcrypt.strength:0}") int strength,
+                                           @Value("${app.password.bcrypt.target-ms:250}") long targetMillis,
+                                           @Value("${app.password.bcrypt.min-strength:10}") int minStrength,
+                                           @Value("${app.password.bcrypt.max-strength:16}") int maxStrength) {
+        // A fixed strength keeps the whole fleet identical; 0 calibrates to this host's CPU
+        int bcryptStrength = strength > 0 ? strength : BCryptCostCalibrator.calibrate(targetMillis, minStrength, maxStrength);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(bcryptStrength));
+        encoders.put("argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(encoderId)) {
+            throw new IllegalStateException("Unknown app.password.encoder '" + encoderId + "', expected one of " + encoders.keySet());
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(encoderId, encoders);
+        // Hashes written before the {id} prefix was introduced
+        delegating.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return delegating;
+    }
+}
@@ -1,32 +1,45 @@
 package com.auth.config;
 
+import com.auth.security.AdminAuthorizationManager;
+import com.auth.security.JwtAuthenticationFilter;
+import com.auth.util.JwtUtil;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
-    @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtUtil jwtUtil,
+                                                   @Value("${app.admin.usernames:}") String adminUsernames) throws Exception {
+        AdminAuthorizationManager admin = new AdminAuthorizationManager(adminUsernames);
         http
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/api/v1/signup", "/api/v1/verify", "/api/v1/login").permitAll()
+                .requestMatchers("/api/v1/signup", "/api/v1/verify", "/api/v1/login", "/api/v1/availability").permitAll()
+                // Scraped by Prometheus without credentials; served on management.server.port only
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                .requestMatchers("/api/v1/admin/**").access(admin)
+                // Send mail through our SMTP account and show its configuration
+                .requestMatchers("/api/v1/test/**", "/api/v1/debug/**").access(admin)
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+            )
+            // Bearer tokens are verified statelessly; unauthenticated requests get a 401
+            .addFilterBefore(new JwtAuthenticationFilter(jwtUtil), UsernamePasswordAuthenticationFilter.class)
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
             );
         return http.build();
     }
@@ -0,0 +1,24 @@
+package com.auth.config;
+
+import com.auth.observability.ServerTiming;
+import com.auth.observability.ServerTimingFilter;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ServerTimingConfig {
+
+    /**
+     * Registered ahead of the security filter chain so bearer-token verification is inside the timed span.
+     */
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(ServerTiming serverTiming) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(serverTiming));
+        registration.addUrlPatterns("/api/v1/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
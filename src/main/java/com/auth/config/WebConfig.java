@@ -0,0 +1,42 @@
+package com.auth.config;
+
+import com.auth.observability.AuthMetrics;
+import com.auth.observability.TimedValidator;
+import com.auth.security.RateLimitInterceptor;
+import com.auth.security.RateLimitService;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final RateLimitService rateLimitService;
+    private final Validator validator;
+    private final ObjectProvider<AuthMetrics> metrics;
+
+    public WebConfig(RateLimitService rateLimitService, Validator validator, ObjectProvider<AuthMetrics> metrics) {
+        this.rateLimitService = rateLimitService;
+        this.validator = validator;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RateLimitInterceptor(rateLimitService::checkLoginIp))
+                .addPathPatterns("/api/v1/login");
+        registry.addInterceptor(new RateLimitInterceptor(rateLimitService::checkSignupIp))
+                .addPathPatterns("/api/v1/signup");
+        registry.addInterceptor(new RateLimitInterceptor(rateLimitService::checkAvailabilityIp))
+                .addPathPatterns("/api/v1/availability");
+    }
+
+    // @Valid request bodies, timed as the validation phase; slice tests without metrics validate untimed
+    @Override
+    public org.springframework.validation.Validator getValidator() {
+        return new TimedValidator(new SpringValidatorAdapter(validator), metrics.getIfAvailable(AuthMetrics::disabled));
+    }
+}
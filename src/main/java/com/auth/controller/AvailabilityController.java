@@ -0,0 +1,41 @@
+package com.auth.controller;
+
+import com.auth.dto.AvailabilityResponse;
+import com.auth.service.AvailabilityService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1")
+public class AvailabilityController {
+
+    private final AvailabilityService availabilityService;
+
+    public AvailabilityController(AvailabilityService availabilityService) {
+        this.availabilityService = availabilityService;
+    }
+
+    /**
+     * Called by the signup form while the user types, so it is not logged per request.
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilityResponse> checkAvailability(@RequestParam(required = false) String username,
+                                                                  @RequestParam(required = false) String email) {
+        boolean hasUsername = username != null && !username.isBlank();
+        boolean hasEmail = email != null && !email.isBlank();
+        if (!hasUsername && !hasEmail) {
+            throw new IllegalArgumentException("Provide a username or an email to check");
+        }
+        AvailabilityResponse.AvailabilityResponseBuilder response = AvailabilityResponse.builder();
+        if (hasUsername) {
+            response.username(username.trim()).usernameAvailable(availabilityService.isUsernameAvailable(username));
+        }
+        if (hasEmail) {
+            response.email(email.trim()).emailAvailable(availabilityService.isEmailAvailable(email));
+        }
+        return ResponseEntity.ok(response.build());
+    }
+}
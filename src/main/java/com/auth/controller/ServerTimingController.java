@@ -0,0 +1,42 @@
+package com.auth.controller;
+
+import com.auth.observability.ServerTiming;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * Switches the {@code Server-Timing} header on and off at runtime, for the duration of a load test.
+ * The setting is per instance and resets to {@code app.server-timing.enabled} on restart.
+ */
+@RestController
+@RequestMapping("/api/v1/admin")
+public class ServerTimingController {
+    private static final Logger logger = LoggerFactory.getLogger(ServerTimingController.class);
+
+    private final ServerTiming serverTiming;
+
+    public ServerTimingController(ServerTiming serverTiming) {
+        this.serverTiming = serverTiming;
+    }
+
+    @GetMapping("/server-timing")
+    public ResponseEntity<Map<String, Boolean>> get() {
+        return ResponseEntity.ok(Map.of("enabled", serverTiming.isEnabled()));
+    }
+
+    @PutMapping("/server-timing")
+    public ResponseEntity<Map<String, Boolean>> set(@RequestParam boolean enabled, Principal admin) {
+        serverTiming.setEnabled(enabled);
+        logger.info("Server-Timing header {} by {}", enabled ? "enabled" : "disabled", admin.getName());
+        return ResponseEntity.ok(Map.of("enabled", enabled));
+    }
+}
@@ -0,0 +1,83 @@
+package com.auth.controller;
+
+import com.auth.dto.UserImportResult;
+import com.auth.dto.UserImportSummary;
+import com.auth.service.UserImportParser;
+import com.auth.service.UserImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+public class UserImportController {
+    private static final Logger logger = LoggerFactory.getLogger(UserImportController.class);
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
+
+    public UserImportController(UserImportService userImportService, ObjectMapper objectMapper) {
+        this.userImportService = userImportService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Streams the upload (UTF-8 NDJSON or CSV) through the import and streams one NDJSON result
+     * per input line back, flushed after every batch, followed by a {@code {"summary": ...}} line.
+     * Neither the upload nor the results are ever held in memory as a whole.
+     */
+    @PostMapping(value = "/users/import",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importUsers(HttpServletRequest request, HttpServletResponse response, Principal admin) throws IOException {
+        UserImportParser.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.APPLICATION_NDJSON) ? UserImportParser.Format.NDJSON : UserImportParser.Format.CSV;
+        logger.info("Received bulk user import ({}) from {}", format, admin.getName());
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        UserImportParser parser = new UserImportParser(reader, format, objectMapper);
+        // Fails with a 400 before anything is written if the CSV header is unusable
+        parser.peek();
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        OutputStream out = response.getOutputStream();
+        UserImportSummary summary = userImportService.importUsers(parser, results -> write(out, results));
+        writeLine(out, Map.of("summary", summary));
+        out.flush();
+    }
+
+    private void write(OutputStream out, List<UserImportResult> results) {
+        try {
+            for (UserImportResult result : results) {
+                writeLine(out, result);
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+    }
+}
@@ -0,0 +1,8 @@
+package com.auth.dto;
+
+/**
+ * The columns login needs, selected straight into a record instead of hydrating a managed
+ * {@link com.auth.entity.User}.
+ */
+public record UserCredentials(Long id, String username, String email, String passwordHash, Boolean enabled) {
+}
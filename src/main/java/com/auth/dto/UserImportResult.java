@@ -0,0 +1,25 @@
+package com.auth.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one input line of a bulk import, streamed back as NDJSON.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportResult {
+
+    public enum Status { CREATED, DUPLICATE, INVALID, FAILED }
+
+    private long line;
+    private String username;
+    private Status status;
+    private String message;
+}
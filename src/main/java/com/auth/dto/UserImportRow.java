@@ -0,0 +1,23 @@
+package com.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One account in a bulk import. Exactly one of {@code password} (hashed during the import)
+ * and {@code passwordHash} (stored as given) is expected.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserImportRow {
+    private String username;
+    private String name;
+    private String email;
+    private String mobile;
+    private String password;
+    private String passwordHash;
+}
@@ -0,0 +1,23 @@
+package com.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Totals of a bulk import, sent as the last NDJSON line wrapped in {@code {"summary": ...}}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserImportSummary {
+    private long rows;
+    private long created;
+    private long duplicates;
+    private long invalid;
+    private long failed;
+    private long elapsedMillis;
+    private long usersPerMinute;
+}
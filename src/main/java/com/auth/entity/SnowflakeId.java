@@ -0,0 +1,20 @@
+package com.auth.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Assigns a {@link com.auth.util.SnowflakeIdGenerator} id when the entity is persisted.
+ *
+ * Unlike {@code GenerationType.IDENTITY} the id is known before the INSERT, so Hibernate can
+ * delay and batch inserts instead of running each one immediately to read the key back.
+ */
+@IdGeneratorType(SnowflakeIdentifierGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SnowflakeId {
+}
@@ -0,0 +1,42 @@
+package com.auth.entity;
+
+import com.auth.util.SnowflakeIdGenerator;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+
+/**
+ * Hibernate side of {@link SnowflakeId}. It uses the application's {@link SnowflakeIdGenerator},
+ * handed over in the Hibernate settings under {@link #GENERATOR_SETTING}, so JPA and the JDBC
+ * bulk paths draw from one sequence.
+ */
+public class SnowflakeIdentifierGenerator implements BeforeExecutionGenerator {
+
+    public static final String GENERATOR_SETTING = "com.auth.snowflake_id_generator";
+
+    private final transient SnowflakeIdGenerator generator;
+
+    public SnowflakeIdentifierGenerator(SnowflakeId config, Member member, CustomIdGeneratorCreationContext context) {
+        Object setting = context.getServiceRegistry().requireService(ConfigurationService.class)
+                .getSettings().get(GENERATOR_SETTING);
+        if (!(setting instanceof SnowflakeIdGenerator snowflake)) {
+            throw new IllegalStateException("No SnowflakeIdGenerator registered under Hibernate setting " + GENERATOR_SETTING);
+        }
+        this.generator = snowflake;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return generator.nextId();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EnumSet.of(EventType.INSERT);
+    }
+}
@@ -6,30 +6,38 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
+/**
+ * Keyed by the token's selector (see {@link com.auth.util.SplitToken}); only the SHA-256 of
+ * the validator is stored.
+ */
 @Entity
 @Table(name = "verification_tokens", indexes = {
-    @Index(name = "idx_token", columnList = "token"),
     @Index(name = "idx_user_id", columnList = "user_id")
 })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class VerificationToken {
+public class VerificationToken implements Persistable<UUID> {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "selector", length = 16)
+    private UUID selector;
+
+    @Column(name = "validator_hash", nullable = false, length = 32)
+    private byte[] validatorHash;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(name = "token", nullable = false, unique = true, length = 100)
-    private String token;
-
     @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
 
@@ -40,5 +48,25 @@ public class VerificationToken {
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
-}
 
+    // The selector is assigned, not generated - without this save() would SELECT before every INSERT
+    @Transient
+    @Builder.Default
+    private boolean newToken = true;
+
+    @Override
+    public UUID getId() {
+        return selector;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newToken;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newToken = false;
+    }
+}
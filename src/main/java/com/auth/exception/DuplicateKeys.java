@@ -0,0 +1,53 @@
+package com.auth.exception;
+
+import com.auth.entity.User;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ * Maps a duplicate-key error from an INSERT into {@code users} back to the field that clashed.
+ * A clash on the primary key is not the caller's fault: it means two instances share a Snowflake
+ * node id, and is reported as {@link Field#ID} so it is never mistaken for a taken name.
+ */
+public final class DuplicateKeys {
+
+    public enum Field { ID, USERNAME, EMAIL }
+
+    private static final String FOR_KEY = " for key ";
+
+    private DuplicateKeys() {
+    }
+
+    /**
+     * @return the clashing field, or {@code null} if the violation was not one of the user keys
+     */
+    public static Field userField(DataIntegrityViolationException e) {
+        String constraint = violatedConstraint(e);
+        if (constraint.endsWith("primary")) {
+            return Field.ID;
+        }
+        if (constraint.contains(User.UK_USERNAME)) {
+            return Field.USERNAME;
+        }
+        if (constraint.contains(User.UK_EMAIL)) {
+            return Field.EMAIL;
+        }
+        return null;
+    }
+
+    // Hibernate extracts the key name from the vendor error ("users.uk_users_email" on MySQL 8);
+    // plain JDBC errors and unrecognised ones fall back to the key named in the driver message,
+    // "Duplicate entry '...' for key 'users.PRIMARY'", ignoring the duplicated value itself
+    private static String violatedConstraint(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT);
+            }
+        }
+        String message = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        int key = message.lastIndexOf(FOR_KEY);
+        return key < 0 ? message : message.substring(key + FOR_KEY.length()).replace("'", "").trim();
+    }
+}
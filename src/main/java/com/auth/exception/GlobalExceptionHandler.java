@@ -3,6 +3,7 @@ package com.auth.exception;
 import com.auth.dto.ApiResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -60,7 +61,8 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiResponse> handleIllegalArgumentException(IllegalArgumentException e) {
-        logger.error("IllegalArgumentException: {}", e.getMessage());
+        // The service that rejected the request has logged why; this is the same event again
+        logger.debug("IllegalArgumentException: {}", e.getMessage());
         ApiResponse response = ApiResponse.builder()
                 .message(e.getMessage())
                 .success(false)
@@ -74,7 +76,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<ApiResponse> handleIllegalStateException(IllegalStateException e) {
-        logger.error("IllegalStateException: {}", e.getMessage());
+        logger.debug("IllegalStateException: {}", e.getMessage());
         ApiResponse response = ApiResponse.builder()
                 .message(e.getMessage())
                 .success(false)
@@ -82,6 +84,38 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
     }
 
+    /**
+     * Handles RateLimitExceededException - the client or account is over its request budget,
+     * or the account is temporarily locked. Returns 429 with Retry-After.
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ApiResponse> handleRateLimitExceededException(RateLimitExceededException e) {
+        logger.warn("Rate limited: {}", e.getMessage());
+        ApiResponse response = ApiResponse.builder()
+                .message(e.getMessage() + ". Please try again later.")
+                .success(false)
+                .build();
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(response);
+    }
+
+    /**
+     * Handles ServiceOverloadedException - the request was shed because a bounded pool is full.
+     * Returns 503 with Retry-After so well-behaved clients back off.
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ApiResponse> handleServiceOverloadedException(ServiceOverloadedException e) {
+        logger.warn("Request shed: {}", e.getMessage());
+        ApiResponse response = ApiResponse.builder()
+                .message("Service is busy. Please try again shortly.")
+                .success(false)
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(response);
+    }
+
     /**
      * Handles all other unexpected exceptions.
      * This is a catch-all handler for any unhandled exceptions.
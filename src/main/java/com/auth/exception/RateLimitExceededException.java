@@ -0,0 +1,20 @@
+package com.auth.exception;
+
+/**
+ * Thrown when a client or account exceeds its request budget, or the account is locked after
+ * repeated failed logins. Mapped to 429 with a {@code Retry-After} header.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        // No stack trace: these are thrown at attack rates and must stay cheap
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.auth.exception;
+
+/**
+ * Thrown when a bounded resource (for example the password hashing pool) is saturated and
+ * the request is shed instead of queued. Mapped to 503 with a {@code Retry-After} header.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,254 @@
+package com.auth.mail;
+
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.lang.Nullable;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link JavaMailSenderImpl} that keeps a bounded pool of connected, authenticated
+ * {@link Transport}s instead of opening a new SMTP connection (TCP + TLS + AUTH) for
+ * every {@code send} call.
+ *
+ * <ul>
+ *   <li>At most {@code maxConnections} transports exist at once; callers wait up to
+ *       {@code borrowTimeoutMillis} for one to become free.</li>
+ *   <li>A transport is retired after {@code maxMessagesPerConnection} messages so that
+ *       server-side per-session limits are never hit.</li>
+ *   <li>Idle transports are checked with {@link Transport#isConnected()} (an SMTP NOOP)
+ *       before reuse once they have been idle for {@code validateAfterIdleMillis}, and
+ *       closed by a background evictor after {@code maxIdleMillis}.</li>
+ * </ul>
+ */
+public class PooledJavaMailSender extends JavaMailSenderImpl implements InitializingBean, DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(PooledJavaMailSender.class);
+
+    private static final String HEADER_MESSAGE_ID = "Message-ID";
+
+    private final int maxConnections;
+    private final int maxMessagesPerConnection;
+    private final long maxIdleMillis;
+    private final long validateAfterIdleMillis;
+    private final long borrowTimeoutMillis;
+
+    private final BlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final AtomicLong connectionsOpened = new AtomicLong();
+    private final AtomicLong connectionsClosed = new AtomicLong();
+
+    private ScheduledExecutorService evictor;
+    private volatile boolean closed;
+
+    public PooledJavaMailSender(int maxConnections, int maxMessagesPerConnection,
+                                long maxIdleMillis, long validateAfterIdleMillis, long borrowTimeoutMillis) {
+        this.maxConnections = maxConnections;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.maxIdleMillis = maxIdleMillis;
+        this.validateAfterIdleMillis = validateAfterIdleMillis;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.permits = new Semaphore(maxConnections, true);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "smtp-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, maxIdleMillis / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        closed = true;
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            close(pooled);
+        }
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, @Nullable Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failures = new LinkedHashMap<>();
+        PooledTransport pooled = null;
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                // One transport serves the whole batch until it is retired; no per-message NOOP
+                if (pooled != null && pooled.messagesSent >= maxMessagesPerConnection) {
+                    release(pooled);
+                    pooled = null;
+                }
+                if (pooled == null) {
+                    pooled = borrowFor(mimeMessages, originalMessages, i, failures);
+                }
+                try {
+                    send(pooled, mimeMessages[i]);
+                } catch (MessagingException | RuntimeException e) {
+                    failures.put(original(mimeMessages, originalMessages, i), e);
+                    if (!pooled.transport.isConnected()) {
+                        // The next message gets a fresh connection
+                        discard(pooled);
+                        pooled = null;
+                    }
+                }
+            }
+        } finally {
+            if (pooled != null) {
+                release(pooled);
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new MailSendException(failures);
+        }
+    }
+
+    // Without a connection, the message at index and every one after it fails
+    private PooledTransport borrowFor(MimeMessage[] mimeMessages, @Nullable Object[] originalMessages, int index,
+                                      Map<Object, Exception> failures) {
+        Exception cause;
+        try {
+            return borrow();
+        } catch (AuthenticationFailedException e) {
+            throw new MailAuthenticationException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cause = e;
+        } catch (MessagingException | RuntimeException e) {
+            cause = e;
+        }
+        for (int i = index; i < mimeMessages.length; i++) {
+            failures.put(original(mimeMessages, originalMessages, i), cause);
+        }
+        throw new MailSendException("Mail server connection failed", cause, failures);
+    }
+
+    private static void send(PooledTransport pooled, MimeMessage message) throws MessagingException {
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        // saveChanges() generates a new Message-ID; keep one the caller set
+        String messageId = message.getMessageID();
+        message.saveChanges();
+        if (messageId != null) {
+            message.setHeader(HEADER_MESSAGE_ID, messageId);
+        }
+        Address[] recipients = message.getAllRecipients();
+        pooled.transport.sendMessage(message, recipients != null ? recipients : new Address[0]);
+        pooled.messagesSent++;
+    }
+
+    // The key MailSendException reports a failure under: what the caller passed to send()
+    private static Object original(MimeMessage[] mimeMessages, @Nullable Object[] originalMessages, int index) {
+        return originalMessages != null ? originalMessages[index] : mimeMessages[index];
+    }
+
+    private PooledTransport borrow() throws MessagingException, InterruptedException {
+        if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            throw new MessagingException("Timed out after " + borrowTimeoutMillis +
+                    " ms waiting for one of " + maxConnections + " pooled SMTP connections");
+        }
+        try {
+            PooledTransport pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                long idleFor = System.currentTimeMillis() - pooled.lastUsedAt;
+                if (idleFor < validateAfterIdleMillis || pooled.transport.isConnected()) {
+                    return pooled;
+                }
+                close(pooled);
+            }
+            Transport transport = connectTransport();
+            connectionsOpened.incrementAndGet();
+            return new PooledTransport(transport);
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void release(PooledTransport pooled) {
+        try {
+            if (closed || pooled.messagesSent >= maxMessagesPerConnection) {
+                close(pooled);
+            } else {
+                pooled.lastUsedAt = System.currentTimeMillis();
+                // Most recently used first, so a quiet pool shrinks from the tail
+                idle.offerFirst(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    void evictIdle() {
+        long now = System.currentTimeMillis();
+        PooledTransport oldest;
+        while ((oldest = idle.peekLast()) != null && now - oldest.lastUsedAt >= maxIdleMillis) {
+            if (idle.removeLastOccurrence(oldest)) {
+                close(oldest);
+            }
+        }
+    }
+
+    // For a transport that is broken rather than returned
+    private void discard(PooledTransport pooled) {
+        close(pooled);
+        permits.release();
+    }
+
+    private void close(PooledTransport pooled) {
+        connectionsClosed.incrementAndGet();
+        try {
+            pooled.transport.close();
+        } catch (Exception e) {
+            logger.debug("Ignoring error while closing pooled SMTP connection: {}", e.getMessage());
+        }
+    }
+
+    public long getConnectionsOpened() {
+        return connectionsOpened.get();
+    }
+
+    public long getConnectionsClosed() {
+        return connectionsClosed.get();
+    }
+
+    public int getIdleConnections() {
+        return idle.size();
+    }
+
+    private static final class PooledTransport {
+        private final Transport transport;
+        private int messagesSent;
+        private volatile long lastUsedAt = System.currentTimeMillis();
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.auth.observability;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logback's {@link AsyncAppender} that counts the events it throws away.
+ *
+ * The calling thread only puts the event on a bounded array queue; a background thread encodes
+ * and writes it. Once the queue is past its discarding threshold (80% full by default) DEBUG and
+ * INFO events are dropped, and with {@code neverBlock} a full queue drops WARN and ERROR too
+ * rather than stalling a request. Configured in {@code logback-spring.xml}; the count is published
+ * as {@code auth.logging.events.dropped}.
+ */
+public class AsyncLogAppender extends AsyncAppender {
+
+    private final LongAdder dropped = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // Checked up front so a dropped event is counted, and not prepared for a queue it cannot join.
+        // Racy by design: another thread may fill the last slot after this check
+        if (isNeverBlock() && getRemainingCapacity() == 0) {
+            dropped.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    // Only asked once the queue is past the discarding threshold
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            dropped.increment();
+        }
+        return discardable;
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,182 @@
+package com.auth.observability;
+
+import com.auth.exception.RateLimitExceededException;
+import com.auth.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Latency of the authentication flows, split by phase and by outcome:
+ * <ul>
+ *   <li>{@code auth.phase{phase}} - one step of a request: rate limiting, the user lookup,
+ *       bcrypt, the database write, JWT signing or verification, the SMTP send.</li>
+ *   <li>{@code auth.operation{operation, outcome}} - a whole signup, verification, login or
+ *       email batch, tagged with how it ended.</li>
+ * </ul>
+ * Both publish percentile histograms (Prometheus buckets) and p50/p95/p99 computed in-process.
+ *
+ * Callers chain phases off one clock read each, with no allocation once a timer exists:
+ * <pre>
+ *   long t = metrics.start();
+ *   ... rate limit ...
+ *   t = metrics.phase(Phase.RATE_LIMIT, t);
+ *   ... lookup ...
+ *   t = metrics.phase(Phase.LOOKUP, t);
+ * </pre>
+ * Outcome timers are registered on first use, so combinations that never happen export nothing.
+ * Phases are also handed to {@link ServerTiming} for the request's {@code Server-Timing} header.
+ * With {@code app.metrics.phases.enabled=false} and the header off, every method returns without
+ * reading the clock.
+ */
+@Component
+public class AuthMetrics {
+
+    public enum Operation { SIGNUP, VERIFY_EMAIL, LOGIN, SEND_EMAIL }
+
+    public enum Phase { VALIDATION, RATE_LIMIT, LOOKUP, PASSWORD_HASH, PASSWORD_VERIFY, DB_WRITE, TOKEN_SIGN, TOKEN_VERIFY, SMTP_SEND }
+
+    /**
+     * How an operation ended, following the status {@code GlobalExceptionHandler} maps it to.
+     */
+    public enum Outcome {
+        SUCCESS, REJECTED, FORBIDDEN, RATE_LIMITED, OVERLOADED, FAILED;
+
+        // Not via tagValue: that would initialise AuthMetrics, which reads Outcome.values(), from Outcome's own initialiser
+        private final String tag = name().toLowerCase(Locale.ROOT).replace('_', '-');
+
+        /**
+         * The lower-case tag value, e.g. {@code rate-limited}.
+         */
+        public String tag() {
+            return tag;
+        }
+
+        public static Outcome of(Throwable failure) {
+            if (failure instanceof RateLimitExceededException) {
+                return RATE_LIMITED;
+            }
+            if (failure instanceof ServiceOverloadedException) {
+                return OVERLOADED;
+            }
+            if (failure instanceof IllegalArgumentException) {
+                return REJECTED;
+            }
+            if (failure instanceof IllegalStateException) {
+                return FORBIDDEN;
+            }
+            return FAILED;
+        }
+    }
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private static final AuthMetrics DISABLED =
+            new AuthMetrics(new SimpleMeterRegistry(), new ServerTiming(false), false);
+
+    private final MeterRegistry registry;
+    private final ServerTiming serverTiming;
+    private final boolean enabled;
+    private final Timer[] phaseTimers;
+    private final AtomicReferenceArray<Timer> operationTimers;
+
+    public AuthMetrics(MeterRegistry registry, ServerTiming serverTiming,
+                       @Value("${app.metrics.phases.enabled:true}") boolean enabled) {
+        this.registry = registry;
+        this.serverTiming = serverTiming;
+        this.enabled = enabled;
+        this.phaseTimers = new Timer[Phase.values().length];
+        this.operationTimers = new AtomicReferenceArray<>(Operation.values().length * Outcome.values().length);
+        if (enabled) {
+            for (Phase phase : Phase.values()) {
+                phaseTimers[phase.ordinal()] = Timer.builder("auth.phase")
+                        .tag("phase", tagValue(phase))
+                        .description("Time spent in one phase of an authentication request")
+                        .publishPercentileHistogram()
+                        .publishPercentiles(PERCENTILES)
+                        .register(registry);
+            }
+        }
+    }
+
+    /**
+     * Instrumentation that records nothing, for code constructed outside Spring.
+     */
+    public static AuthMetrics disabled() {
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the current {@link System#nanoTime()}, or 0 when nothing is recorded
+     */
+    public long start() {
+        return enabled || serverTiming.isEnabled() ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the time since {@code startNanos} against {@code phase}.
+     *
+     * @return the current time, to pass as the start of the next phase
+     */
+    public long phase(Phase phase, long startNanos) {
+        boolean timing = serverTiming.isEnabled();
+        if (!enabled && !timing) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long elapsed = now - startNanos;
+        if (enabled) {
+            phaseTimers[phase.ordinal()].record(elapsed, TimeUnit.NANOSECONDS);
+        }
+        if (timing) {
+            serverTiming.record(phase, elapsed);
+        }
+        return now;
+    }
+
+    /**
+     * Records a whole operation from {@code startNanos} until now.
+     */
+    public void outcome(Operation operation, Outcome outcome, long startNanos) {
+        if (!enabled) {
+            return;
+        }
+        long elapsed = System.nanoTime() - startNanos;
+        operationTimer(operation, outcome).record(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    public void failure(Operation operation, Throwable failure, long startNanos) {
+        outcome(operation, Outcome.of(failure), startNanos);
+    }
+
+    private Timer operationTimer(Operation operation, Outcome outcome) {
+        int index = operation.ordinal() * Outcome.values().length + outcome.ordinal();
+        Timer timer = operationTimers.get(index);
+        if (timer == null) {
+            // The registry hands every racing caller the same meter
+            timer = Timer.builder("auth.operation")
+                    .tag("operation", tagValue(operation))
+                    .tag("outcome", outcome.tag())
+                    .description("Duration of an authentication operation by outcome")
+                    .publishPercentileHistogram()
+                    .publishPercentiles(PERCENTILES)
+                    .register(registry);
+            operationTimers.set(index, timer);
+        }
+        return timer;
+    }
+
+    static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
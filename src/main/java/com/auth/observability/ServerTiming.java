@@ -0,0 +1,123 @@
+package com.auth.observability;
+
+import com.auth.observability.AuthMetrics.Phase;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Collects the phases {@link AuthMetrics} times during one request, for the
+ * {@code Server-Timing} response header written by {@link ServerTimingFilter}:
+ * <pre>
+ *   Server-Timing: validation;dur=0.412, rate-limit;dur=0.018, lookup;dur=1.207, password-verify;dur=3.954, token-sign;dur=0.061, total;dur=6.102
+ * </pre>
+ * Durations are summed per phase in a reusable per-thread frame, so recording allocates nothing.
+ * The switch is read on every call and can be flipped while the service runs; when it is off,
+ * neither the filter nor {@link #record} touch the thread-local at all.
+ */
+@Component
+public class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final String[] NAMES = new String[PHASES.length];
+
+    static {
+        for (Phase phase : PHASES) {
+            NAMES[phase.ordinal()] = AuthMetrics.tagValue(phase);
+        }
+    }
+
+    private static final ThreadLocal<Frame> FRAME = ThreadLocal.withInitial(Frame::new);
+
+    private volatile boolean enabled;
+
+    public ServerTiming(@Value("${app.server-timing.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Starts collecting for the request running on this thread.
+     *
+     * @return false, without touching any state, when the header is switched off
+     */
+    public boolean begin() {
+        if (!enabled) {
+            return false;
+        }
+        FRAME.get().reset(true);
+        return true;
+    }
+
+    /**
+     * Adds a phase duration to the current request, if one is being collected on this thread.
+     */
+    public void record(Phase phase, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        Frame frame = FRAME.get();
+        if (frame.active) {
+            frame.nanos[phase.ordinal()] += nanos;
+            frame.recorded |= 1 << phase.ordinal();
+        }
+    }
+
+    /**
+     * The header value for the current request: every phase recorded so far, then the total.
+     */
+    public String header(long totalNanos) {
+        Frame frame = FRAME.get();
+        StringBuilder value = new StringBuilder(128);
+        for (int i = 0; i < PHASES.length; i++) {
+            if ((frame.recorded & (1 << i)) != 0) {
+                appendMetric(value, NAMES[i], frame.nanos[i]);
+            }
+        }
+        appendMetric(value, "total", totalNanos);
+        return value.toString();
+    }
+
+    public void end() {
+        FRAME.get().reset(false);
+    }
+
+    private static void appendMetric(StringBuilder value, String name, long nanos) {
+        if (!value.isEmpty()) {
+            value.append(", ");
+        }
+        // Milliseconds with microsecond precision, without going through String.format
+        long micros = Math.max(nanos, 0) / 1_000;
+        long fraction = micros % 1_000;
+        value.append(name).append(";dur=").append(micros / 1_000).append('.');
+        if (fraction < 100) {
+            value.append('0');
+        }
+        if (fraction < 10) {
+            value.append('0');
+        }
+        value.append(fraction);
+    }
+
+    private static final class Frame {
+        private final long[] nanos = new long[PHASES.length];
+        private int recorded;
+        private boolean active;
+
+        private void reset(boolean active) {
+            Arrays.fill(nanos, 0);
+            recorded = 0;
+            this.active = active;
+        }
+    }
+}
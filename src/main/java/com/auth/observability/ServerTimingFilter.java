@@ -0,0 +1,99 @@
+package com.auth.observability;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Adds a {@code Server-Timing} header with the phases {@link ServerTiming} collected while the
+ * request ran. Headers cannot change once the body starts, so the header is set the moment the
+ * handler opens the response body (or sends an error), and otherwise when the chain returns.
+ *
+ * A plain {@link Filter} rather than a {@code OncePerRequestFilter}: with the header switched
+ * off this is one volatile read per request and allocates nothing.
+ */
+public class ServerTimingFilter implements Filter {
+
+    private final ServerTiming serverTiming;
+
+    public ServerTimingFilter(ServerTiming serverTiming) {
+        this.serverTiming = serverTiming;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!(response instanceof HttpServletResponse httpResponse) || !serverTiming.begin()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        TimedResponse timedResponse = new TimedResponse(httpResponse, System.nanoTime());
+        try {
+            chain.doFilter(request, timedResponse);
+        } finally {
+            timedResponse.writeHeader();
+            serverTiming.end();
+        }
+    }
+
+    private final class TimedResponse extends HttpServletResponseWrapper {
+        private final long startedAt;
+        private boolean written;
+
+        private TimedResponse(HttpServletResponse response, long startedAt) {
+            super(response);
+            this.startedAt = startedAt;
+        }
+
+        private void writeHeader() {
+            if (!written && !isCommitted()) {
+                setHeader(ServerTiming.HEADER, serverTiming.header(System.nanoTime() - startedAt));
+            }
+            written = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeader();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.auth.observability;
+
+import com.auth.observability.AuthMetrics.Phase;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+/**
+ * Records Bean Validation of request bodies as the {@link Phase#VALIDATION} phase, so it shows
+ * up next to the service phases in {@code auth.phase} and the {@code Server-Timing} header.
+ */
+public class TimedValidator implements SmartValidator {
+
+    private final SmartValidator delegate;
+    private final AuthMetrics metrics;
+
+    public TimedValidator(SmartValidator delegate, AuthMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        long started = metrics.start();
+        delegate.validate(target, errors);
+        metrics.phase(Phase.VALIDATION, started);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        long started = metrics.start();
+        delegate.validate(target, errors, validationHints);
+        metrics.phase(Phase.VALIDATION, started);
+    }
+
+    @Override
+    public void validateValue(Class<?> targetType, String fieldName, Object value, Errors errors,
+                              Object... validationHints) {
+        delegate.validateValue(targetType, fieldName, value, errors, validationHints);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) {
+        // Lets Spring MVC reach the jakarta.validation.Validator for method validation
+        return delegate.unwrap(type);
+    }
+}
@@ -0,0 +1,40 @@
+package com.auth.observability.jfr;
+
+import com.auth.observability.AuthMetrics.Outcome;
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of the service's Java Flight Recorder events.
+ *
+ * The events are disabled unless a recording enables them, normally with the shipped
+ * {@code jfr/auth-service.jfc} profile. Callers create, {@code begin()} and finish an event
+ * inside one method. With JFR off, {@code begin()} and {@code shouldCommit()} are no-ops and
+ * escape analysis removes the event object, so an instrumented call costs nothing measurable.
+ * Fields are only filled in once {@code shouldCommit()} says the event will be recorded.
+ *
+ * Call {@code finish} once, after the success and failure paths have merged. A {@code finish}
+ * in a catch block that has not run yet is compiled as a real call rather than inlined, and the
+ * event passed to it is then allocated on every invocation.
+ */
+@Category("Auth Service")
+@Enabled(false)
+@StackTrace(false)
+public abstract class AuthEvent extends Event {
+
+    @Label("Outcome")
+    String outcome;
+
+    /**
+     * Commits the event if the recording wants it.
+     */
+    public void finish(Outcome outcome) {
+        if (shouldCommit()) {
+            this.outcome = outcome.tag();
+            commit();
+        }
+    }
+}
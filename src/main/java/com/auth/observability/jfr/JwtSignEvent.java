@@ -0,0 +1,21 @@
+package com.auth.observability.jfr;
+
+import com.auth.observability.AuthMetrics.Outcome;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.auth.JwtSign")
+@Label("JWT Sign")
+public class JwtSignEvent extends AuthEvent {
+
+    @Label("User Id")
+    long userId;
+
+    public void finish(long userId, Outcome outcome) {
+        if (shouldCommit()) {
+            this.userId = userId;
+            this.outcome = outcome.tag();
+            commit();
+        }
+    }
+}
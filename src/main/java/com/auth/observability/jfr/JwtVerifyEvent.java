@@ -0,0 +1,23 @@
+package com.auth.observability.jfr;
+
+import com.auth.observability.AuthMetrics.Outcome;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.auth.JwtVerify")
+@Label("JWT Verify")
+@Description("Bearer token verification, served from the verified-token cache or by checking the signature")
+public class JwtVerifyEvent extends AuthEvent {
+
+    @Label("User Id")
+    long userId;
+
+    public void finish(long userId, Outcome outcome) {
+        if (shouldCommit()) {
+            this.userId = userId;
+            this.outcome = outcome.tag();
+            commit();
+        }
+    }
+}
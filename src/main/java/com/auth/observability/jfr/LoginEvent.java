@@ -0,0 +1,26 @@
+package com.auth.observability.jfr;
+
+import com.auth.observability.AuthMetrics.Outcome;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.auth.Login")
+@Label("Login")
+@Description("One login attempt and how it ended")
+public class LoginEvent extends AuthEvent {
+
+    @Label("User Id")
+    long userId;
+
+    /**
+     * @param userId the account the credentials matched, or 0 if the identifier was unknown
+     */
+    public void finish(long userId, Outcome outcome) {
+        if (shouldCommit()) {
+            this.userId = userId;
+            this.outcome = outcome.tag();
+            commit();
+        }
+    }
+}
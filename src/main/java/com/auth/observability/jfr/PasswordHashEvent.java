@@ -0,0 +1,30 @@
+package com.auth.observability.jfr;
+
+import com.auth.observability.AuthMetrics.Outcome;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.auth.PasswordHash")
+@Label("Password Hash")
+@Description("BCrypt or Argon2 work on the password hashing pool, excluding the wait for a worker")
+public class PasswordHashEvent extends AuthEvent {
+
+    @Label("Operation")
+    @Description("encode, matches, dummy (the check spent on unknown logins) or import (background work)")
+    String operation;
+
+    @Label("Queue Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    long queueWait;
+
+    public void finish(String operation, long queueWaitNanos, boolean success) {
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.queueWait = queueWaitNanos;
+            this.outcome = (success ? Outcome.SUCCESS : Outcome.FAILED).tag();
+            commit();
+        }
+    }
+}
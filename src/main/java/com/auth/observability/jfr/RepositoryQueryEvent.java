@@ -0,0 +1,29 @@
+package com.auth.observability.jfr;
+
+import com.auth.observability.AuthMetrics.Outcome;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.auth.RepositoryQuery")
+@Label("Repository Query")
+@Category({"Auth Service", "Database"})
+@Description("One Spring Data repository call, including any flush it triggers")
+public class RepositoryQueryEvent extends AuthEvent {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    public void finish(String repository, String method, Outcome outcome) {
+        if (shouldCommit()) {
+            this.repository = repository;
+            this.method = method;
+            this.outcome = outcome.tag();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.auth.observability.jfr;
+
+import com.auth.observability.AuthMetrics.Outcome;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryProxyPostProcessor;
+
+/**
+ * Adds an interceptor to every Spring Data repository proxy that wraps each call in a
+ * {@link RepositoryQueryEvent}.
+ */
+public class RepositoryQueryEvents implements RepositoryProxyPostProcessor {
+
+    @Override
+    public void postProcess(ProxyFactory factory, RepositoryInformation repositoryInformation) {
+        String repository = repositoryInformation.getRepositoryInterface().getSimpleName();
+        factory.addAdvice((MethodInterceptor) invocation -> {
+            RepositoryQueryEvent event = new RepositoryQueryEvent();
+            event.begin();
+            Object result = null;
+            Throwable failure = null;
+            try {
+                result = invocation.proceed();
+            } catch (Throwable t) {
+                failure = t;
+            }
+            event.finish(repository, invocation.getMethod().getName(), failure == null ? Outcome.SUCCESS : Outcome.of(failure));
+            if (failure != null) {
+                throw failure;
+            }
+            return result;
+        });
+    }
+}
@@ -0,0 +1,26 @@
+package com.auth.observability.jfr;
+
+import com.auth.observability.AuthMetrics.Outcome;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.auth.Signup")
+@Label("Signup")
+@Description("One signup, from password hashing to the committed user, token and outbox rows")
+public class SignupEvent extends AuthEvent {
+
+    @Label("User Id")
+    long userId;
+
+    /**
+     * @param userId the new account's id, or 0 if none was created
+     */
+    public void finish(long userId, Outcome outcome) {
+        if (shouldCommit()) {
+            this.userId = userId;
+            this.outcome = outcome.tag();
+            commit();
+        }
+    }
+}
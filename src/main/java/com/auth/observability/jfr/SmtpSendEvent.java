@@ -0,0 +1,27 @@
+package com.auth.observability.jfr;
+
+import com.auth.observability.AuthMetrics.Outcome;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.auth.SmtpSend")
+@Label("SMTP Send")
+@Description("One batch of verification emails sent in a single SMTP session")
+public class SmtpSendEvent extends AuthEvent {
+
+    @Label("Messages")
+    int messages;
+
+    @Label("Failed")
+    int failed;
+
+    public void finish(int messages, int failed) {
+        if (shouldCommit()) {
+            this.messages = messages;
+            this.failed = failed;
+            this.outcome = (failed == 0 ? Outcome.SUCCESS : Outcome.FAILED).tag();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.auth.repository;
+
+import com.auth.entity.EmailOutboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxEntry, Long> {
+
+    /**
+     * Locks up to {@code limit} due entries. Rows already locked by another worker are
+     * skipped rather than waited on, so concurrent workers never block each other.
+     * Must be called inside a transaction.
+     */
+    @Query(value = "SELECT * FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutboxEntry> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Marks delivered entries and drops their token, which only the email needed; the
+     * verification_tokens table keeps just the validator's hash.
+     */
+    @Modifying
+    @Query("UPDATE EmailOutboxEntry e SET e.status = :status, e.sentAt = :sentAt, e.lastError = NULL, " +
+            "e.token = NULL WHERE e.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids,
+                 @Param("status") EmailOutboxEntry.Status status,
+                 @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE EmailOutboxEntry e SET e.status = :status, e.nextAttemptAt = :nextAttemptAt, " +
+            "e.lastError = :lastError WHERE e.id = :id")
+    int recordFailure(@Param("id") Long id,
+                      @Param("status") EmailOutboxEntry.Status status,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                      @Param("lastError") String lastError);
+
+    /**
+     * Gives up on an entry for good. Its token is dropped as well, as in {@link #markSent}.
+     */
+    @Modifying
+    @Query("UPDATE EmailOutboxEntry e SET e.status = :status, e.lastError = :lastError, e.token = NULL " +
+            "WHERE e.id = :id")
+    int markFailed(@Param("id") Long id,
+                   @Param("status") EmailOutboxEntry.Status status,
+                   @Param("lastError") String lastError);
+}
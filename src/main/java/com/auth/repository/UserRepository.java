@@ -1,23 +1,33 @@
 package com.auth.repository;
 
+import com.auth.dto.UserCredentials;
 import com.auth.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
-    
-    @Query("SELECT u FROM User u WHERE LOWER(u.username) = LOWER(:username)")
-    Optional<User> findByUsernameIgnoreCase(@Param("username") String username);
 
-    Optional<User> findByEmailIgnoreCase(String email);
+    // The users table is utf8mb4_unicode_ci, so plain equality is already case-insensitive
+    // and, unlike LOWER(column), can be answered from the unique keys
 
-    boolean existsByUsernameIgnoreCase(String username);
+    Optional<User> findByUsername(String username);
 
-    boolean existsByEmailIgnoreCase(String email);
-}
+    boolean existsByUsername(String username);
+
+    boolean existsByEmail(String email);
+
+    // Login reads the five columns it needs straight into an unmanaged record: no entity
+    // snapshot, nothing to dirty-check, and no persistence-context entry
 
+    Optional<UserCredentials> findCredentialsByUsername(String username);
+
+    /**
+     * Single round trip for a login that looks like an email. Usernames may contain '@' too,
+     * so both unique keys are probed (MySQL index_merge union); the caller prefers the email match.
+     */
+    List<UserCredentials> findCredentialsByEmailOrUsername(String email, String username);
+}
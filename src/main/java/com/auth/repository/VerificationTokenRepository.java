@@ -2,14 +2,32 @@ package com.auth.repository;
 
 import com.auth.entity.VerificationToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.UUID;
 
+/**
+ * Tokens are looked up by their selector, which is the primary key.
+ */
 @Repository
-public interface VerificationTokenRepository extends JpaRepository<VerificationToken, Long> {
-    Optional<VerificationToken> findByToken(String token);
-    
-    Optional<VerificationToken> findByTokenAndUsedFalse(String token);
-}
+public interface VerificationTokenRepository extends JpaRepository<VerificationToken, UUID> {
 
+    /**
+     * Consumes an unused, unexpired token and enables its still-disabled user in one statement.
+     * Both rows are locked by the UPDATE, so of two concurrent clicks exactly one succeeds.
+     *
+     * @return 0 if nothing matched, otherwise the number of rows touched (2)
+     */
+    @Modifying
+    @Query(value = "UPDATE verification_tokens t JOIN users u ON u.id = t.user_id " +
+            "SET t.used = TRUE, u.enabled = TRUE " +
+            "WHERE t.selector = :selector AND t.validator_hash = :validatorHash " +
+            "AND t.used = FALSE AND t.expires_at > :now AND u.enabled = FALSE", nativeQuery = true)
+    int consumeAndEnableUser(@Param("selector") byte[] selector,
+                             @Param("validatorHash") byte[] validatorHash,
+                             @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,84 @@
+package com.auth.security;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Progressive lockout after repeated failed logins for the same account identifier.
+ *
+ * From the {@code threshold}-th consecutive failure the account is locked for
+ * {@code baseLockMillis}, doubling with every further failure up to {@code maxLockMillis}.
+ * A successful login clears the record; so does {@code resetAfterMillis} without failures.
+ * Checking a lock is a lock-free map read; only failures write.
+ */
+public class AccountLockout {
+
+    private final int threshold;
+    private final long baseLockMillis;
+    private final long maxLockMillis;
+    private final long resetAfterMillis;
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, Failures> failures = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public AccountLockout(int threshold, long baseLockMillis, long maxLockMillis, long resetAfterMillis, int maxKeys) {
+        this.threshold = threshold;
+        this.baseLockMillis = baseLockMillis;
+        this.maxLockMillis = maxLockMillis;
+        this.resetAfterMillis = resetAfterMillis;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * @return milliseconds the account stays locked, or 0 if it is not locked
+     */
+    public long lockedForMillis(String key) {
+        Failures record = failures.get(key);
+        return record == null ? 0 : Math.max(0, record.lockedUntil - System.currentTimeMillis());
+    }
+
+    public void recordFailure(String key) {
+        long now = System.currentTimeMillis();
+        if (failures.size() >= maxKeys && !failures.containsKey(key)) {
+            evict(now);
+        }
+        failures.compute(key, (k, previous) -> {
+            int count = (previous == null || now - previous.lastFailure > resetAfterMillis) ? 1 : previous.count + 1;
+            long lockedUntil = 0;
+            if (count >= threshold) {
+                int doublings = Math.min(count - threshold, 30);
+                lockedUntil = now + Math.min(maxLockMillis, baseLockMillis << doublings);
+            }
+            return new Failures(count, lockedUntil, now);
+        });
+    }
+
+    public void recordSuccess(String key) {
+        failures.remove(key);
+    }
+
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            failures.values().removeIf(record -> record.lockedUntil <= now && now - record.lastFailure > resetAfterMillis);
+            int target = maxKeys - Math.max(1, maxKeys / 10);
+            Iterator<Failures> iterator = failures.values().iterator();
+            while (failures.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    public int size() {
+        return failures.size();
+    }
+
+    private record Failures(int count, long lockedUntil, long lastFailure) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.auth.security;
+
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Grants the admin endpoints to the accounts listed in {@code app.admin.usernames}.
+ *
+ * Tokens carry no roles, so the allow-list is matched against the JWT username. Usernames
+ * compare case-insensitively, like the {@code users} table. An empty list locks the admin
+ * endpoints for everyone.
+ */
+public class AdminAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private final Set<String> adminUsernames;
+
+    public AdminAuthorizationManager(String adminUsernames) {
+        this.adminUsernames = Arrays.stream(adminUsernames.split(","))
+                .map(username -> username.trim().toLowerCase(Locale.ROOT))
+                .filter(username -> !username.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return new AuthorizationDecision(authentication.get() instanceof JwtAuthentication jwt
+                && jwt.getUsername() != null
+                && adminUsernames.contains(jwt.getUsername().toLowerCase(Locale.ROOT)));
+    }
+}
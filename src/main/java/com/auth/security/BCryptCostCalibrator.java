@@ -0,0 +1,38 @@
+package com.auth.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+/**
+ * Picks the bcrypt cost for this host: the highest cost whose hash still completes within the
+ * target latency. Each extra cost step doubles the work, so only a handful of hashes are timed.
+ */
+public final class BCryptCostCalibrator {
+    private static final Logger logger = LoggerFactory.getLogger(BCryptCostCalibrator.class);
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private BCryptCostCalibrator() {
+    }
+
+    public static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        // Warm up the JIT so the first timing is not inflated
+        BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(minStrength));
+
+        int strength = minStrength;
+        long elapsed = time(strength);
+        while (strength < maxStrength && elapsed * 2 <= targetMillis) {
+            strength++;
+            elapsed = time(strength);
+        }
+        logger.info("Calibrated bcrypt cost {} ({} ms per hash, target {} ms)", strength, elapsed, targetMillis);
+        return strength;
+    }
+
+    private static long time(int strength) {
+        long start = System.nanoTime();
+        BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(strength));
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
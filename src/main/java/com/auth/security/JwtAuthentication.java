@@ -0,0 +1,91 @@
+package com.auth.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+
+/**
+ * Authentication built directly from a verified JWT. It doubles as its own principal,
+ * so authenticating a request allocates this one object and nothing else.
+ */
+public final class JwtAuthentication implements Authentication {
+
+    private final Long userId;
+    private final String username;
+    private volatile boolean authenticated = true;
+
+    public JwtAuthentication(Long userId, String username) {
+        this.userId = userId;
+        this.username = username;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getDetails() {
+        return null;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return this;
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return authenticated;
+    }
+
+    @Override
+    public void setAuthenticated(boolean isAuthenticated) {
+        if (isAuthenticated) {
+            throw new IllegalArgumentException("A JWT authentication cannot be re-marked as authenticated");
+        }
+        this.authenticated = false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof JwtAuthentication that)) {
+            return false;
+        }
+        return Objects.equals(userId, that.userId) && Objects.equals(username, that.username);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, username);
+    }
+
+    @Override
+    public String toString() {
+        return "JwtAuthentication[userId=" + userId + ", username=" + username + "]";
+    }
+}
@@ -0,0 +1,53 @@
+package com.auth.security;
+
+import com.auth.util.JwtUtil;
+import com.auth.util.ParsedToken;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authenticates requests carrying a {@code Authorization: Bearer <jwt>} header issued by
+ * {@link JwtUtil#generateToken(String, Long)}.
+ *
+ * The token is verified once with the prebuilt parser and the {@link JwtAuthentication}
+ * is created straight from its claims - no database lookup. Requests without a valid token
+ * continue unauthenticated and are rejected by the authorization rules if the route needs it.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            try {
+                ParsedToken token = jwtUtil.verify(header.substring(BEARER_PREFIX.length()));
+                SecurityContextHolder.getContext()
+                        .setAuthentication(new JwtAuthentication(token.userId(), token.username()));
+            } catch (JwtException | IllegalArgumentException e) {
+                logger.debug("Rejected bearer token: {}", e.getMessage());
+                SecurityContextHolder.clearContext();
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
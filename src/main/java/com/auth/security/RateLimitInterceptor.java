@@ -0,0 +1,30 @@
+package com.auth.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.function.Consumer;
+
+/**
+ * Applies a per-client-IP budget before the handler runs, so a rejected request never
+ * reaches JSON binding, validation, the database or bcrypt. The check throws
+ * {@link com.auth.exception.RateLimitExceededException}, which the exception handler turns into a 429.
+ *
+ * Behind a load balancer the remote address is the client from {@code X-Forwarded-For}, as rewritten
+ * by Tomcat for requests from {@code server.tomcat.remoteip.internal-proxies}; see application.yml.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final Consumer<String> ipCheck;
+
+    public RateLimitInterceptor(Consumer<String> ipCheck) {
+        this.ipCheck = ipCheck;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ipCheck.accept(request.getRemoteAddr());
+        return true;
+    }
+}
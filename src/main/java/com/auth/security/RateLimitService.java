@@ -0,0 +1,108 @@
+package com.auth.security;
+
+import com.auth.exception.RateLimitExceededException;
+import com.auth.util.Identifiers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request budgets for the unauthenticated endpoints, enforced before any SQL or bcrypt work.
+ *
+ * <ul>
+ *   <li>Per client IP for login, signup and the availability check - checked by
+ *       {@link RateLimitInterceptor} before the request body is even read. The availability
+ *       budget keeps it from serving as a cheap way to enumerate registered names.</li>
+ *   <li>Per normalized account identifier for login, plus {@link AccountLockout} - checked
+ *       by {@code AuthService.login} before the user lookup.</li>
+ * </ul>
+ *
+ * Limits live under {@code app.rate-limit.*}. State is per instance, so behind N replicas
+ * the effective budget is up to N times the configured one.
+ */
+@Service
+public class RateLimitService {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitService.class);
+
+    private final boolean enabled;
+    private final TokenBucketRateLimiter loginByIp;
+    private final TokenBucketRateLimiter signupByIp;
+    private final TokenBucketRateLimiter availabilityByIp;
+    private final TokenBucketRateLimiter loginByAccount;
+    private final AccountLockout lockout;
+
+    public RateLimitService(@Value("${app.rate-limit.enabled:true}") boolean enabled,
+                            @Value("${app.rate-limit.max-keys:100000}") int maxKeys,
+                            @Value("${app.rate-limit.login-ip.capacity:20}") int loginIpCapacity,
+                            @Value("${app.rate-limit.login-ip.refill-per-minute:30}") int loginIpRefill,
+                            @Value("${app.rate-limit.signup-ip.capacity:5}") int signupIpCapacity,
+                            @Value("${app.rate-limit.signup-ip.refill-per-minute:10}") int signupIpRefill,
+                            @Value("${app.rate-limit.availability-ip.capacity:30}") int availabilityIpCapacity,
+                            @Value("${app.rate-limit.availability-ip.refill-per-minute:60}") int availabilityIpRefill,
+                            @Value("${app.rate-limit.login-account.capacity:10}") int accountCapacity,
+                            @Value("${app.rate-limit.login-account.refill-per-minute:10}") int accountRefill,
+                            @Value("${app.rate-limit.lockout.threshold:5}") int lockoutThreshold,
+                            @Value("${app.rate-limit.lockout.base-seconds:30}") long lockoutBaseSeconds,
+                            @Value("${app.rate-limit.lockout.max-seconds:900}") long lockoutMaxSeconds,
+                            @Value("${app.rate-limit.lockout.reset-after-seconds:3600}") long lockoutResetSeconds) {
+        this.enabled = enabled;
+        this.loginByIp = new TokenBucketRateLimiter(loginIpCapacity, loginIpRefill, maxKeys);
+        this.signupByIp = new TokenBucketRateLimiter(signupIpCapacity, signupIpRefill, maxKeys);
+        this.availabilityByIp = new TokenBucketRateLimiter(availabilityIpCapacity, availabilityIpRefill, maxKeys);
+        this.loginByAccount = new TokenBucketRateLimiter(accountCapacity, accountRefill, maxKeys);
+        this.lockout = new AccountLockout(lockoutThreshold, lockoutBaseSeconds * 1000,
+                lockoutMaxSeconds * 1000, lockoutResetSeconds * 1000, maxKeys);
+    }
+
+    public void checkLoginIp(String clientIp) {
+        acquire(loginByIp, clientIp, "Too many login attempts from this address");
+    }
+
+    public void checkSignupIp(String clientIp) {
+        acquire(signupByIp, clientIp, "Too many signup attempts from this address");
+    }
+
+    public void checkAvailabilityIp(String clientIp) {
+        acquire(availabilityByIp, clientIp, "Too many availability checks from this address");
+    }
+
+    public void checkLoginAccount(String identifier) {
+        if (!enabled) {
+            return;
+        }
+        String key = Identifiers.normalize(identifier);
+        long lockedFor = lockout.lockedForMillis(key);
+        if (lockedFor > 0) {
+            logger.warn("Login rejected: account temporarily locked - {}", identifier);
+            throw new RateLimitExceededException("Account temporarily locked after repeated failed logins",
+                    Math.max(1, TimeUnit.MILLISECONDS.toSeconds(lockedFor + 999)));
+        }
+        acquire(loginByAccount, key, "Too many login attempts for this account");
+    }
+
+    public void recordLoginFailure(String identifier) {
+        if (enabled) {
+            lockout.recordFailure(Identifiers.normalize(identifier));
+        }
+    }
+
+    public void recordLoginSuccess(String identifier) {
+        if (enabled) {
+            lockout.recordSuccess(Identifiers.normalize(identifier));
+        }
+    }
+
+    private void acquire(TokenBucketRateLimiter limiter, String key, String message) {
+        if (!enabled || key == null) {
+            return;
+        }
+        long waitNanos = limiter.tryAcquire(key);
+        if (waitNanos > 0) {
+            throw new RateLimitExceededException(message,
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)));
+        }
+    }
+}
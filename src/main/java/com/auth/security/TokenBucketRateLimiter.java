@@ -0,0 +1,84 @@
+package com.auth.security;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keyed token buckets, each held in a single {@link AtomicLong}.
+ *
+ * Every bucket stores its "theoretical arrival time" (the GCRA form of a token bucket): taking
+ * a token is one compare-and-set that moves it forward by one refill interval, and a request is
+ * refused while it is more than {@code capacity - 1} intervals ahead of now. There are no locks,
+ * no timers and no per-request allocation once a key exists.
+ *
+ * A bucket whose arrival time has passed is full, so evicting it changes nothing. Those are
+ * swept first when the map reaches {@code maxKeys}; if it is still full, arbitrary keys go.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public TokenBucketRateLimiter(int capacity, int refillPerMinute, int maxKeys) {
+        if (capacity <= 0 || refillPerMinute <= 0 || maxKeys <= 0) {
+            throw new IllegalArgumentException("Rate limit capacity, refill rate and key bound must be positive");
+        }
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+        this.toleranceNanos = intervalNanos * (capacity - 1);
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes one token for {@code key}.
+     *
+     * @return 0 if the request may proceed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                evict(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long base = arrival - now > 0 ? arrival : now;
+            long wait = base - toleranceNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, base + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+            int target = maxKeys - Math.max(1, maxKeys / 10);
+            Iterator<AtomicLong> iterator = buckets.values().iterator();
+            while (buckets.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -3,20 +3,37 @@ package com.auth.service;
 import com.auth.dto.AuthResponse;
 import com.auth.dto.LoginRequest;
 import com.auth.dto.SignupRequest;
+import com.auth.dto.UserCredentials;
+import com.auth.entity.EmailOutboxEntry;
 import com.auth.entity.User;
 import com.auth.entity.VerificationToken;
+import com.auth.exception.DuplicateKeys;
+import com.auth.observability.AuthMetrics;
+import com.auth.observability.AuthMetrics.Operation;
+import com.auth.observability.AuthMetrics.Outcome;
+import com.auth.observability.AuthMetrics.Phase;
+import com.auth.observability.jfr.LoginEvent;
+import com.auth.observability.jfr.SignupEvent;
+import com.auth.repository.EmailOutboxRepository;
 import com.auth.repository.UserRepository;
 import com.auth.repository.VerificationTokenRepository;
+import com.auth.security.RateLimitService;
 import com.auth.util.JwtUtil;
+import com.auth.util.NegativeLookupCache;
+import com.auth.util.SplitToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
 
 @Service
 public class AuthService {
@@ -24,96 +41,198 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final VerificationTokenRepository tokenRepository;
-    private final EmailService emailService;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final EmailOutboxRepository outboxRepository;
+    private final PasswordHashingService passwordHashingService;
     private final JwtUtil jwtUtil;
+    private final NegativeLookupCache negativeLookupCache;
+    private final RateLimitService rateLimitService;
+    private final PasswordRehashService passwordRehashService;
+    private final AvailabilityService availabilityService;
+    private final TransactionTemplate transactionTemplate;
+    private final AuthMetrics metrics;
 
     private static final int TOKEN_EXPIRATION_HOURS = 24;
 
     public AuthService(UserRepository userRepository,
                       VerificationTokenRepository tokenRepository,
-                      EmailService emailService,
-                      BCryptPasswordEncoder passwordEncoder,
-                      JwtUtil jwtUtil) {
+                      EmailOutboxRepository outboxRepository,
+                      PasswordHashingService passwordHashingService,
+                      JwtUtil jwtUtil,
+                      NegativeLookupCache negativeLookupCache,
+                      RateLimitService rateLimitService,
+                      PasswordRehashService passwordRehashService,
+                      AvailabilityService availabilityService,
+                      PlatformTransactionManager transactionManager,
+                      AuthMetrics metrics) {
         this.userRepository = userRepository;
         this.tokenRepository = tokenRepository;
-        this.emailService = emailService;
-        this.passwordEncoder = passwordEncoder;
+        this.outboxRepository = outboxRepository;
+        this.passwordHashingService = passwordHashingService;
         this.jwtUtil = jwtUtil;
+        this.negativeLookupCache = negativeLookupCache;
+        this.rateLimitService = rateLimitService;
+        this.passwordRehashService = passwordRehashService;
+        this.availabilityService = availabilityService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.metrics = metrics;
     }
 
-    @Transactional
+    /**
+     * Registers a new account in two phases so that a pooled DB connection is only
+     * held for the INSERTs:
+     * <ol>
+     *   <li>password hashing, outside any transaction</li>
+     *   <li>a short write transaction for the user, its verification token and its outbox entry</li>
+     * </ol>
+     * Uniqueness is not pre-checked: the INSERT is attempted directly and a duplicate-key error
+     * on {@link User#UK_USERNAME} or {@link User#UK_EMAIL} becomes the matching conflict message.
+     * The unique keys compare case-insensitively, and concurrent duplicate signups get the same
+     * answer as sequential ones.
+     * The verification email is queued in {@code email_outbox} inside that same transaction
+     * and delivered by {@link EmailOutboxDispatcher}, so signup latency does not depend on SMTP
+     * and a queued email survives a restart.
+     */
     public AuthResponse signup(SignupRequest request) {
-        logger.info("Processing signup request for username: {}, email: {}", 
-                request.getUsername(), request.getEmail());
-
-        // Check username uniqueness (case-insensitive)
-        if (userRepository.existsByUsernameIgnoreCase(request.getUsername().trim())) {
-            logger.warn("Signup failed: Username already exists (case-insensitive) - {}", 
-                    request.getUsername());
-            throw new IllegalArgumentException("Username already exists. Please choose a different username.");
+        long started = metrics.start();
+        SignupEvent event = new SignupEvent();
+        event.begin();
+        long userId = 0;
+        AuthResponse response = null;
+        RuntimeException failure = null;
+        try {
+            // Hash the password on the bounded hashing pool before opening a transaction - bcrypt is CPU bound and slow
+            String passwordHash = passwordHashingService.encode(request.getPassword());
+            long phaseStart = metrics.phase(Phase.PASSWORD_HASH, started);
+
+            User newUser = User.builder()
+                    .username(request.getUsername().trim())
+                    .name(request.getName().trim())
+                    .email(request.getEmail().trim().toLowerCase())
+                    .mobile(request.getMobile().trim())
+                    .passwordHash(passwordHash)
+                    .enabled(false)
+                    .build();
+            SplitToken token = SplitToken.generate();
+
+            User user;
+            try {
+                user = transactionTemplate.execute(status -> {
+                    User saved = userRepository.save(newUser);
+                    VerificationToken verificationToken = VerificationToken.builder()
+                            .selector(token.getSelector())
+                            .validatorHash(token.getValidatorHash())
+                            .user(saved)
+                            .expiresAt(LocalDateTime.now().plusHours(TOKEN_EXPIRATION_HOURS))
+                            .used(false)
+                            .build();
+                    tokenRepository.save(verificationToken);
+                    outboxRepository.save(EmailOutboxEntry.builder()
+                            .recipient(saved.getEmail())
+                            .username(saved.getUsername())
+                            .token(token.toString())
+                            .nextAttemptAt(LocalDateTime.now())
+                            .build());
+                    // Ids are assigned up front, so the three INSERTs wait for this flush and go out together;
+                    // flushing here rather than at commit keeps a duplicate key a DataIntegrityViolationException
+                    outboxRepository.flush();
+                    return saved;
+                });
+            } catch (DataIntegrityViolationException e) {
+                throw duplicateSignup(e, request);
+            } finally {
+                metrics.phase(Phase.DB_WRITE, phaseStart);
+            }
+            userId = user.getId() != null ? user.getId() : 0;
+
+            // Earlier failed logins may have cached these identifiers as unknown
+            negativeLookupCache.invalidate(user.getUsername(), user.getEmail());
+            availabilityService.recordTaken(user.getUsername(), user.getEmail());
+
+            logger.info("Signup completed {} {} {}",
+                    kv("userId", user.getId()), kv("username", user.getUsername()), kv("email", user.getEmail()));
+            response = AuthResponse.builder()
+                    .message("Signup successful. Please check your email to verify your account.")
+                    .username(user.getUsername())
+                    .email(user.getEmail())
+                    .build();
+        } catch (RuntimeException e) {
+            failure = e;
         }
-
-        // Check email uniqueness (case-insensitive)
-        if (userRepository.existsByEmailIgnoreCase(request.getEmail().trim().toLowerCase())) {
-            logger.warn("Signup failed: Email already exists (case-insensitive) - {}", 
-                    request.getEmail());
-            throw new IllegalArgumentException("Email already exists. Please use a different email address.");
+        event.finish(userId, failure == null ? Outcome.SUCCESS : Outcome.of(failure));
+        if (failure != null) {
+            metrics.failure(Operation.SIGNUP, failure, started);
+            throw failure;
         }
+        metrics.outcome(Operation.SIGNUP, Outcome.SUCCESS, started);
+        return response;
+    }
 
-        // Create user
-        User user = User.builder()
-                .username(request.getUsername().trim())
-                .name(request.getName().trim())
-                .email(request.getEmail().trim().toLowerCase())
-                .mobile(request.getMobile().trim())
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
-                .enabled(false)
-                .build();
-
-        user = userRepository.save(user);
-        logger.info("User created successfully with ID: {}, username: {}", 
-                user.getId(), user.getUsername());
-
-        // Generate verification token
-        String token = UUID.randomUUID().toString();
-        VerificationToken verificationToken = VerificationToken.builder()
-                .user(user)
-                .token(token)
-                .expiresAt(LocalDateTime.now().plusHours(TOKEN_EXPIRATION_HOURS))
-                .used(false)
-                .build();
-
-        tokenRepository.save(verificationToken);
-        logger.info("Verification token created for user ID: {}, expires at: {}", 
-                user.getId(), verificationToken.getExpiresAt());
+    private RuntimeException duplicateSignup(DataIntegrityViolationException e, SignupRequest request) {
+        DuplicateKeys.Field field = DuplicateKeys.userField(e);
+        if (field == DuplicateKeys.Field.ID) {
+            logger.error("Signup failed: generated user id already exists, check that app.ids.node-id differs on every instance {}",
+                    kv("username", request.getUsername()));
+            return e;
+        }
+        if (field == DuplicateKeys.Field.USERNAME) {
+            logger.warn("Signup failed: username already exists {}", kv("username", request.getUsername()));
+            return new IllegalArgumentException("Username already exists. Please choose a different username.");
+        }
+        if (field == DuplicateKeys.Field.EMAIL) {
+            logger.warn("Signup failed: email already exists {}", kv("email", request.getEmail()));
+            return new IllegalArgumentException("Email already exists. Please use a different email address.");
+        }
+        return e;
+    }
 
-        // Send verification email (non-blocking - signup succeeds even if email fails)
+    /**
+     * Verifies an email in one round trip: a single UPDATE ... JOIN consumes the token and
+     * enables the user if the token is valid, unused and unexpired and the user is still
+     * disabled. Only when that matches nothing is the token read back to tell the caller why.
+     */
+    @Transactional
+    public AuthResponse verifyEmail(String token) {
+        long started = metrics.start();
         try {
-            emailService.sendVerificationEmail(user.getEmail(), user.getUsername(), token);
-        } catch (Exception e) {
-            logger.error("Email sending failed for user ID: {}, but signup will continue. Token: {}", 
-                    user.getId(), token, e);
-            // Continue with signup even if email fails
+            AuthResponse response = consumeVerificationToken(token);
+            metrics.outcome(Operation.VERIFY_EMAIL, Outcome.SUCCESS, started);
+            return response;
+        } catch (RuntimeException e) {
+            metrics.failure(Operation.VERIFY_EMAIL, e, started);
+            throw e;
         }
+    }
 
-        logger.info("Signup completed successfully for user: {}, email: {}", 
-                user.getUsername(), user.getEmail());
-        return AuthResponse.builder()
-                .message("Signup successful. Please check your email to verify your account.")
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .build();
+    private AuthResponse consumeVerificationToken(String token) {
+        Optional<SplitToken> parsed = SplitToken.parse(token.trim());
+        if (parsed.isEmpty()) {
+            logger.warn("Verification failed: malformed token");
+            throw new IllegalArgumentException("Invalid or expired verification token. Please request a new verification email.");
+        }
+        SplitToken splitToken = parsed.get();
+
+        // Equality on the SHA-256 digest reveals nothing usable about the validator, so SQL may compare it
+        long phaseStart = metrics.start();
+        int updated = tokenRepository.consumeAndEnableUser(splitToken.getSelectorBytes(),
+                splitToken.getValidatorHash(), LocalDateTime.now());
+        metrics.phase(Phase.DB_WRITE, phaseStart);
+        if (updated > 0) {
+            logger.info("Email verification completed {}", kv("selector", splitToken.getSelector()));
+            return AuthResponse.builder()
+                    .message("Email verified successfully. Your account is now activated.")
+                    .build();
+        }
+
+        return explainFailedVerification(splitToken);
     }
 
-    @Transactional
-    public AuthResponse verifyEmail(String token) {
-        logger.info("Processing email verification request for token");
+    // Slow path: the UPDATE matched nothing - find out whether the token is unknown, expired, or for an active account
+    private AuthResponse explainFailedVerification(SplitToken splitToken) {
+        Optional<VerificationToken> tokenOpt = tokenRepository.findById(splitToken.getSelector())
+                .filter(candidate -> !candidate.getUsed() && splitToken.matches(candidate.getValidatorHash()));
 
-        Optional<VerificationToken> tokenOpt = tokenRepository.findByTokenAndUsedFalse(token.trim());
-        
         if (tokenOpt.isEmpty()) {
-            logger.warn("Verification failed: Token not found or already used");
+            logger.warn("Verification failed: token not found or already used {}", kv("selector", splitToken.getSelector()));
             throw new IllegalArgumentException("Invalid or expired verification token. Please request a new verification email.");
         }
 
@@ -121,84 +240,117 @@ public class AuthService {
         User user = verificationToken.getUser();
 
         // Check if token is expired
-        if (verificationToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-            logger.warn("Verification failed: Token expired for user ID: {}, expired at: {}", 
-                    user.getId(), verificationToken.getExpiresAt());
+        if (!verificationToken.getExpiresAt().isAfter(LocalDateTime.now())) {
+            logger.warn("Verification failed: token expired {} {}",
+                    kv("userId", user.getId()), kv("expiresAt", verificationToken.getExpiresAt()));
             throw new IllegalArgumentException("Verification token has expired. Please request a new verification email.");
         }
 
-        // Check if user is already enabled
-        if (user.getEnabled()) {
-            logger.info("User account already enabled for user ID: {}", user.getId());
-            verificationToken.setUsed(true);
-            tokenRepository.save(verificationToken);
-            return AuthResponse.builder()
-                    .message("Your account is already verified and activated.")
-                    .username(user.getUsername())
-                    .email(user.getEmail())
-                    .build();
-        }
-
-        // Enable user account
-        user.setEnabled(true);
-        userRepository.save(user);
-        logger.info("User account enabled successfully for user ID: {}, username: {}", 
-                user.getId(), user.getUsername());
-
-        // Mark token as used
+        // Valid token for an account that is already active - consume it without touching the user
+        logger.info("Email verification completed, account already enabled {}", kv("userId", user.getId()));
         verificationToken.setUsed(true);
         tokenRepository.save(verificationToken);
-
-        logger.info("Email verification completed successfully for user: {}, email: {}", 
-                user.getUsername(), user.getEmail());
         return AuthResponse.builder()
-                .message("Email verified successfully. Your account is now activated.")
+                .message("Your account is already verified and activated.")
                 .username(user.getUsername())
                 .email(user.getEmail())
                 .build();
     }
 
     public AuthResponse login(LoginRequest request) {
-        logger.info("Processing login request for: {}", request.getUsernameOrEmail());
-
-        // Find user by username or email (case-insensitive)
-        Optional<User> userOpt = userRepository.findByUsernameIgnoreCase(request.getUsernameOrEmail().trim());
-        if (userOpt.isEmpty()) {
-            userOpt = userRepository.findByEmailIgnoreCase(request.getUsernameOrEmail().trim());
+        long started = metrics.start();
+        LoginEvent event = new LoginEvent();
+        event.begin();
+        long userId = 0;
+        AuthResponse response = null;
+        RuntimeException failure = null;
+        try {
+            // Per-account budget and lockout come first - a rejected attempt costs no SQL or bcrypt
+            String login = request.getUsernameOrEmail().trim();
+            rateLimitService.checkLoginAccount(login);
+            long phaseStart = metrics.phase(Phase.RATE_LIMIT, started);
+
+            // Unknown identifiers that missed recently skip the database entirely
+            Optional<UserCredentials> userOpt = Optional.empty();
+            if (!negativeLookupCache.isKnownMiss(login)) {
+                // Find user by username or email (case-insensitive) in a single indexed query
+                long generation = negativeLookupCache.generation();
+                userOpt = findCredentials(login);
+                if (userOpt.isEmpty()) {
+                    negativeLookupCache.recordMiss(login, generation);
+                }
+            }
+            phaseStart = metrics.phase(Phase.LOOKUP, phaseStart);
+
+            if (userOpt.isEmpty()) {
+                // Spend the same bcrypt work as a wrong password so timing does not reveal the miss
+                passwordHashingService.matchesDummy(request.getPassword());
+                metrics.phase(Phase.PASSWORD_VERIFY, phaseStart);
+                rateLimitService.recordLoginFailure(login);
+                logger.warn("Login failed: user not found {}", kv("login", login));
+                throw new IllegalArgumentException("Invalid username/email or password");
+            }
+
+            UserCredentials user = userOpt.get();
+            userId = user.id();
+
+            // Check if account is enabled
+            if (!user.enabled()) {
+                logger.warn("Login failed: account not activated {} {}",
+                        kv("userId", user.id()), kv("username", user.username()));
+                throw new IllegalStateException("Account not activated. Please verify your email first.");
+            }
+
+            // Verify password
+            boolean passwordMatches = passwordHashingService.matches(request.getPassword(), user.passwordHash());
+            metrics.phase(Phase.PASSWORD_VERIFY, phaseStart);
+            if (!passwordMatches) {
+                rateLimitService.recordLoginFailure(login);
+                logger.warn("Login failed: invalid password {} {}",
+                        kv("userId", user.id()), kv("username", user.username()));
+                throw new IllegalArgumentException("Invalid username/email or password");
+            }
+
+            rateLimitService.recordLoginSuccess(login);
+
+            // Legacy or below-target hashes are upgraded in the background now that the password is known
+            if (passwordHashingService.needsRehash(user.passwordHash())) {
+                passwordRehashService.schedule(user.id(), request.getPassword(), user.passwordHash());
+            }
+
+            // Generate JWT token
+            String jwtToken = jwtUtil.generateToken(user.username(), user.id());
+            logger.info("Login successful {} {}", kv("userId", user.id()), kv("username", user.username()));
+
+            response = AuthResponse.builder()
+                    .token(jwtToken)
+                    .message("Login successful")
+                    .username(user.username())
+                    .email(user.email())
+                    .build();
+        } catch (RuntimeException e) {
+            failure = e;
         }
-
-        if (userOpt.isEmpty()) {
-            logger.warn("Login failed: User not found - {}", request.getUsernameOrEmail());
-            throw new IllegalArgumentException("Invalid username/email or password");
+        event.finish(userId, failure == null ? Outcome.SUCCESS : Outcome.of(failure));
+        if (failure != null) {
+            metrics.failure(Operation.LOGIN, failure, started);
+            throw failure;
         }
+        metrics.outcome(Operation.LOGIN, Outcome.SUCCESS, started);
+        return response;
+    }
 
-        User user = userOpt.get();
-
-        // Check if account is enabled
-        if (!user.getEnabled()) {
-            logger.warn("Login failed: Account not activated for user ID: {}, username: {}", 
-                    user.getId(), user.getUsername());
-            throw new IllegalStateException("Account not activated. Please verify your email first.");
+    private Optional<UserCredentials> findCredentials(String login) {
+        if (login.indexOf('@') < 0) {
+            // Emails always contain '@', so this can only be a username
+            return userRepository.findCredentialsByUsername(login);
         }
-
-        // Verify password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
-            logger.warn("Login failed: Invalid password for user ID: {}, username: {}", 
-                    user.getId(), user.getUsername());
-            throw new IllegalArgumentException("Invalid username/email or password");
+        List<UserCredentials> matches = userRepository.findCredentialsByEmailOrUsername(login, login);
+        for (UserCredentials match : matches) {
+            if (match.email().equalsIgnoreCase(login)) {
+                return Optional.of(match);
+            }
         }
-
-        // Generate JWT token
-        String jwtToken = jwtUtil.generateToken(user.getUsername(), user.getId());
-        logger.info("Login successful for user ID: {}, username: {}, email: {}", 
-                user.getId(), user.getUsername(), user.getEmail());
-
-        return AuthResponse.builder()
-                .token(jwtToken)
-                .message("Login successful")
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .build();
+        return matches.stream().findFirst();
     }
 }
-
@@ -0,0 +1,258 @@
+package com.auth.service;
+
+import com.auth.repository.UserRepository;
+import com.auth.util.BloomFilter;
+import com.auth.util.Identifiers;
+import com.auth.util.SnowflakeIdGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers "is this username / email free?" for the signup form without a query per keystroke.
+ *
+ * <ul>
+ *   <li>Two {@link BloomFilter}s hold every normalized username and email. A value the filter
+ *       has never seen is reported free straight away; only probable hits are confirmed with an
+ *       equality lookup on the unique key.</li>
+ *   <li>The filters are built on a background thread at startup by walking {@code users} in
+ *       primary-key chunks, so no long-running cursor or transaction is held. Until the first
+ *       build finishes every check goes to the database.</li>
+ *   <li>Signups on this instance are added as they commit, including while a rebuild is in
+ *       progress. Signups on other instances are picked up every {@code catch-up-interval-ms} by
+ *       scanning the ids created since the last scan; the ids are Snowflake ids, so that is a
+ *       primary-key range. The range starts {@code catch-up-lookback-seconds} early to cover
+ *       transactions still open at the last scan and clock differences between instances.
+ *       Until then a name taken elsewhere reads as free.</li>
+ *   <li>Deleted accounts cannot be removed from a Bloom filter - they only cause a database
+ *       confirmation - so the filters are rebuilt after the unverified-user reaper deletes rows.</li>
+ * </ul>
+ * The answer is advisory: signup itself still relies on the unique keys.
+ */
+@Service
+public class AvailabilityService {
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityService.class);
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final int scanBatchSize;
+    private final long catchUpIntervalMillis;
+    private final long catchUpLookbackMillis;
+
+    private volatile Filters filters;
+    private volatile Filters building;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicLong filterBytes = new AtomicLong();
+    // Start of the last full or catch-up scan; only touched on the builder thread
+    private long scannedAtMillis;
+    private ScheduledExecutorService builder;
+
+    private final Counter filterFree;
+    private final Counter confirmedTaken;
+    private final Counter falsePositives;
+
+    public AvailabilityService(UserRepository userRepository,
+                               JdbcTemplate jdbcTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.availability.bloom.enabled:true}") boolean enabled,
+                               @Value("${app.availability.bloom.expected-insertions:1000000}") long expectedInsertions,
+                               @Value("${app.availability.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${app.availability.bloom.scan-batch-size:10000}") int scanBatchSize,
+                               @Value("${app.availability.bloom.catch-up-interval-ms:5000}") long catchUpIntervalMillis,
+                               @Value("${app.availability.bloom.catch-up-lookback-seconds:60}") long catchUpLookbackSeconds) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.scanBatchSize = scanBatchSize;
+        this.catchUpIntervalMillis = catchUpIntervalMillis;
+        this.catchUpLookbackMillis = TimeUnit.SECONDS.toMillis(catchUpLookbackSeconds);
+
+        this.filterFree = Counter.builder("auth.availability.checks")
+                .tag("result", "filter-free")
+                .description("Availability answered from the Bloom filter alone")
+                .register(meterRegistry);
+        this.confirmedTaken = Counter.builder("auth.availability.checks")
+                .tag("result", "taken")
+                .description("Probable hits the database confirmed as taken")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("auth.availability.checks")
+                .tag("result", "false-positive")
+                .description("Probable hits the database found free (Bloom false positives or deleted accounts)")
+                .register(meterRegistry);
+        Gauge.builder("auth.availability.filter.bytes", filterBytes, AtomicLong::get)
+                .description("Memory held by the username and email Bloom filters")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            logger.info("Availability Bloom filter is disabled - every check queries the database");
+            return;
+        }
+        // One thread, so catch-up scans never overlap a rebuild
+        builder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "availability-filter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rebuildAsync();
+        builder.scheduleWithFixedDelay(this::catchUpSafely, catchUpIntervalMillis, catchUpIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (builder != null) {
+            builder.shutdownNow();
+        }
+    }
+
+    public boolean isUsernameAvailable(String username) {
+        Filters current = filters;
+        if (current != null && !current.usernames.mightContain(Identifiers.normalize(username))) {
+            filterFree.increment();
+            return true;
+        }
+        return confirm(current, userRepository.existsByUsername(username.trim()));
+    }
+
+    public boolean isEmailAvailable(String email) {
+        Filters current = filters;
+        if (current != null && !current.emails.mightContain(Identifiers.normalize(email))) {
+            filterFree.increment();
+            return true;
+        }
+        return confirm(current, userRepository.existsByEmail(email.trim()));
+    }
+
+    private boolean confirm(Filters current, boolean taken) {
+        if (current != null) {
+            (taken ? confirmedTaken : falsePositives).increment();
+        }
+        return !taken;
+    }
+
+    /**
+     * Call after an account is committed.
+     */
+    public void recordTaken(String username, String email) {
+        add(filters, username, email);
+        add(building, username, email);
+    }
+
+    /**
+     * Starts a rebuild unless one is already running. Used after accounts are deleted.
+     */
+    public void rebuildAsync() {
+        if (builder == null || !rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        builder.submit(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                logger.error("Availability filter rebuild failed: {}", e.getMessage(), e);
+            } finally {
+                building = null;
+                rebuilding.set(false);
+            }
+        });
+    }
+
+    void rebuild() {
+        long start = System.currentTimeMillis();
+        Long userCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        // Leave room for growth until the next rebuild so the false-positive rate holds
+        long capacity = Math.max(expectedInsertions, (userCount == null ? 0 : userCount) * 2);
+        Filters next = new Filters(new BloomFilter(capacity, falsePositiveRate), new BloomFilter(capacity, falsePositiveRate));
+        // Signups committing from here on go into the new filters too
+        building = next;
+
+        long scanned = scan(next, 0);
+
+        filters = next;
+        scannedAtMillis = start;
+        filterBytes.set(next.usernames.memoryBytes() + next.emails.memoryBytes());
+        logger.info("Availability filter built from {} user(s) in {} ms ({} KB, capacity {})",
+                scanned, System.currentTimeMillis() - start, filterBytes.get() / 1024, capacity);
+    }
+
+    /**
+     * Adds the accounts created since the last scan, on any instance.
+     */
+    void catchUp() {
+        Filters current = filters;
+        if (current == null) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long fromId = SnowflakeIdGenerator.minIdAt(scannedAtMillis - catchUpLookbackMillis);
+        long scanned = scan(current, fromId - 1);
+        scannedAtMillis = start;
+        logger.debug("Availability filter caught up on {} user(s) from id {}", scanned, fromId);
+    }
+
+    private void catchUpSafely() {
+        try {
+            catchUp();
+        } catch (Exception e) {
+            logger.warn("Availability filter catch-up failed: {}", e.getMessage());
+        }
+    }
+
+    // Walks users with id > afterId in primary-key chunks
+    private long scan(Filters target, long afterId) {
+        long[] lastId = {afterId};
+        long scanned = 0;
+        int rows;
+        do {
+            int[] batchRows = {0};
+            jdbcTemplate.query("SELECT id, username, email FROM users WHERE id > ? ORDER BY id LIMIT ?", rs -> {
+                lastId[0] = rs.getLong(1);
+                add(target, rs.getString(2), rs.getString(3));
+                batchRows[0]++;
+            }, lastId[0], scanBatchSize);
+            rows = batchRows[0];
+            scanned += rows;
+        } while (rows == scanBatchSize && !Thread.currentThread().isInterrupted());
+        return scanned;
+    }
+
+    boolean isReady() {
+        return filters != null;
+    }
+
+    private static void add(Filters target, String username, String email) {
+        if (target == null) {
+            return;
+        }
+        if (username != null) {
+            target.usernames.put(Identifiers.normalize(username));
+        }
+        if (email != null) {
+            target.emails.put(Identifiers.normalize(email));
+        }
+    }
+
+    private record Filters(BloomFilter usernames, BloomFilter emails) {
+    }
+}
@@ -0,0 +1,205 @@
+package com.auth.service;
+
+import com.auth.entity.EmailOutboxEntry;
+import com.auth.repository.EmailOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background workers that deliver verification emails queued in {@code email_outbox}.
+ *
+ * Each worker claims a batch of due rows with {@code SELECT ... FOR UPDATE SKIP LOCKED},
+ * pushes their next attempt time out by a lease and commits, then sends the batch
+ * outside any transaction. Delivered rows are marked SENT; failed rows are rescheduled
+ * with exponential backoff until {@code max-attempts} is reached. A worker that dies
+ * mid-batch simply lets the lease expire, so rows are retried after a restart.
+ */
+@Service
+public class EmailOutboxDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.email.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.email.outbox.workers:2}")
+    private int workerCount;
+
+    @Value("${app.email.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.email.outbox.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${app.email.outbox.lease-seconds:120}")
+    private long leaseSeconds;
+
+    @Value("${app.email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.email.outbox.initial-backoff-seconds:30}")
+    private long initialBackoffSeconds;
+
+    @Value("${app.email.outbox.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    private ExecutorService workers;
+    private volatile boolean running;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository outboxRepository,
+                                 EmailService emailService,
+                                 PlatformTransactionManager transactionManager) {
+        this.outboxRepository = outboxRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            logger.info("Email outbox dispatcher is disabled");
+            return;
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(this::runWorker);
+        }
+        logger.info("Email outbox dispatcher started with {} worker(s), batch size {}", workerCount, batchSize);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (workers != null) {
+            workers.shutdownNow();
+            workers.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private void runWorker() {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                if (dispatchBatch() == 0) {
+                    Thread.sleep(pollIntervalMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                logger.error("Email outbox worker failed: {}", e.getMessage(), e);
+                try {
+                    Thread.sleep(pollIntervalMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * Claims, sends and settles one batch.
+     *
+     * @return the number of entries claimed; zero when nothing was due
+     */
+    int dispatchBatch() {
+        List<EmailOutboxEntry> batch = transactionTemplate.execute(status -> claimBatch());
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, String> failures;
+        try {
+            failures = emailService.sendVerificationEmails(batch);
+        } catch (Exception e) {
+            logger.error("Unexpected error sending {} outbox email(s): {}", batch.size(), e.getMessage(), e);
+            failures = new HashMap<>();
+            for (EmailOutboxEntry entry : batch) {
+                failures.put(entry.getId(), e.getMessage());
+            }
+        }
+
+        Map<Long, String> failed = failures;
+        transactionTemplate.executeWithoutResult(status -> settleBatch(batch, failed));
+        return batch.size();
+    }
+
+    private List<EmailOutboxEntry> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxEntry> due = outboxRepository.lockDue(now, batchSize);
+        if (due.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // Lease the rows; the dirty entities are flushed on commit, which releases the row locks
+        LocalDateTime leaseExpiry = now.plusSeconds(leaseSeconds);
+        for (EmailOutboxEntry entry : due) {
+            entry.setAttempts(entry.getAttempts() + 1);
+            entry.setNextAttemptAt(leaseExpiry);
+        }
+        return due;
+    }
+
+    private void settleBatch(List<EmailOutboxEntry> batch, Map<Long, String> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> sentIds = new ArrayList<>(batch.size());
+        for (EmailOutboxEntry entry : batch) {
+            if (!failures.containsKey(entry.getId())) {
+                sentIds.add(entry.getId());
+                continue;
+            }
+            String error = failures.get(entry.getId());
+            if (entry.getAttempts() >= maxAttempts) {
+                logger.error("Giving up on verification email to {} after {} attempt(s): {}",
+                        entry.getRecipient(), entry.getAttempts(), error);
+                outboxRepository.markFailed(entry.getId(), EmailOutboxEntry.Status.FAILED, truncate(error));
+            } else {
+                LocalDateTime retryAt = now.plusSeconds(backoffSeconds(entry.getAttempts()));
+                logger.warn("Verification email to {} failed (attempt {}), retrying at {}: {}",
+                        entry.getRecipient(), entry.getAttempts(), retryAt, error);
+                outboxRepository.recordFailure(entry.getId(), EmailOutboxEntry.Status.PENDING,
+                        retryAt, truncate(error));
+            }
+        }
+        if (!sentIds.isEmpty()) {
+            outboxRepository.markSent(sentIds, EmailOutboxEntry.Status.SENT, now);
+        }
+    }
+
+    long backoffSeconds(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        return Math.min(maxBackoffSeconds, initialBackoffSeconds << exponent);
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
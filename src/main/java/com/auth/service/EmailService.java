@@ -1,19 +1,33 @@
 package com.auth.service;
 
+import com.auth.entity.EmailOutboxEntry;
+import com.auth.observability.AuthMetrics;
+import com.auth.observability.AuthMetrics.Operation;
+import com.auth.observability.AuthMetrics.Outcome;
+import com.auth.observability.AuthMetrics.Phase;
+import com.auth.observability.jfr.SmtpSendEvent;
+import com.auth.util.SplitToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.MailAuthenticationException;
 import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class EmailService {
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
 
     private final JavaMailSender mailSender;
+    private final AuthMetrics metrics;
 
     @Value("${app.email.from:noreply@authservice.com}")
     private String fromEmail;
@@ -24,54 +38,105 @@ public class EmailService {
     @Value("${app.email.enabled:true}")
     private boolean emailEnabled;
 
-    public EmailService(JavaMailSender mailSender) {
+    // Local development only: the full token is a working verification link
+    @Value("${app.email.log-tokens:false}")
+    private boolean logTokens;
+
+    public EmailService(JavaMailSender mailSender, AuthMetrics metrics) {
         this.mailSender = mailSender;
+        this.metrics = metrics;
     }
 
-    public void sendVerificationEmail(String toEmail, String username, String token) {
+    /**
+     * Sends one verification email per outbox entry in a single SMTP session.
+     *
+     * @return error messages keyed by outbox entry id for every entry that was not delivered;
+     *         empty when the whole batch was accepted by the mail server
+     */
+    public Map<Long, String> sendVerificationEmails(List<EmailOutboxEntry> entries) {
+        Map<Long, String> failures = new HashMap<>();
+        if (entries.isEmpty()) {
+            return failures;
+        }
+
         if (!emailEnabled) {
-            logger.warn("Email service is disabled. Skipping email send to: {}", toEmail);
-            logger.info("Verification token for {}: {}", username, token);
-            return;
+            for (EmailOutboxEntry entry : entries) {
+                logger.warn("Email service is disabled. Skipping email send to: {}", entry.getRecipient());
+                if (logTokens) {
+                    logger.debug("Verification token for {}: {}", entry.getUsername(), entry.getToken());
+                } else {
+                    // The selector only identifies the token; without the validator it verifies nothing
+                    logger.info("Verification token selector for {}: {}", entry.getUsername(),
+                            SplitToken.parse(entry.getToken()).map(SplitToken::getSelector).orElse(null));
+                }
+            }
+            return failures;
+        }
+
+        SimpleMailMessage[] batch = new SimpleMailMessage[entries.size()];
+        Map<SimpleMailMessage, EmailOutboxEntry> messages = new IdentityHashMap<>();
+        for (int i = 0; i < batch.length; i++) {
+            EmailOutboxEntry entry = entries.get(i);
+            batch[i] = buildVerificationEmail(entry.getRecipient(), entry.getUsername(), entry.getToken());
+            messages.put(batch[i], entry);
         }
 
-        logger.info("Sending verification email to: {}", toEmail);
+        logger.info("Sending {} verification email(s)", messages.size());
+        long started = metrics.start();
+        SmtpSendEvent event = new SmtpSendEvent();
+        event.begin();
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(toEmail);
-            message.setSubject("Verify Your Account - User Authentication Service");
-            
-            String verificationUrl = baseUrl + "/api/v1/verify?token=" + token;
-            String emailBody = String.format(
-                "Hello %s,\n\n" +
-                "Thank you for signing up! Please verify your email address by clicking the link below:\n\n" +
-                "%s\n\n" +
-                "This link will expire in 24 hours.\n\n" +
-                "If you did not create an account, please ignore this email.\n\n" +
-                "Best regards,\n" +
-                "User Authentication Service",
-                username, verificationUrl
-            );
-            
-            message.setText(emailBody);
-            mailSender.send(message);
-            logger.info("Verification email sent successfully to: {}", toEmail);
+            mailSender.send(batch);
+            logger.info("{} verification email(s) sent successfully", messages.size());
+        } catch (MailSendException e) {
+            // Partial failure - only the messages reported by the mail server need a retry
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            if (failedMessages.isEmpty()) {
+                entries.forEach(entry -> failures.put(entry.getId(), e.getMessage()));
+            } else {
+                failedMessages.forEach((message, cause) -> {
+                    EmailOutboxEntry entry = messages.get(message);
+                    if (entry != null) {
+                        failures.put(entry.getId(), cause.getMessage());
+                    }
+                });
+            }
+            logger.error("Failed to send {} of {} verification email(s): {}",
+                    failures.size(), messages.size(), e.getMessage());
         } catch (MailAuthenticationException e) {
-            logger.error("Email authentication failed for {}: {}. Please check email configuration (username/password).", 
-                    toEmail, e.getMessage());
-            logger.warn("Signup will continue, but email was not sent. Token: {}", token);
-            // Don't throw exception - allow signup to succeed
+            logger.error("Email authentication failed: {}. Please check email configuration (username/password).",
+                    e.getMessage());
+            entries.forEach(entry -> failures.put(entry.getId(), e.getMessage()));
         } catch (MailException e) {
-            logger.error("Failed to send verification email to {}: {}. Error: {}", 
-                    toEmail, e.getMessage(), e.getClass().getSimpleName());
-            logger.warn("Signup will continue, but email was not sent. Token: {}", token);
-            // Don't throw exception - allow signup to succeed
-        } catch (Exception e) {
-            logger.error("Unexpected error sending verification email to {}: {}", toEmail, e.getMessage(), e);
-            logger.warn("Signup will continue, but email was not sent. Token: {}", token);
-            // Don't throw exception - allow signup to succeed
+            logger.error("Failed to send verification emails: {}. Error: {}",
+                    e.getMessage(), e.getClass().getSimpleName());
+            entries.forEach(entry -> failures.put(entry.getId(), e.getMessage()));
         }
+        event.finish(messages.size(), failures.size());
+        metrics.phase(Phase.SMTP_SEND, started);
+        metrics.outcome(Operation.SEND_EMAIL, failures.isEmpty() ? Outcome.SUCCESS : Outcome.FAILED, started);
+        return failures;
     }
-}
 
+    SimpleMailMessage buildVerificationEmail(String toEmail, String username, String token) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(toEmail);
+        message.setSubject("Verify Your Account - User Authentication Service");
+
+        String verificationUrl = baseUrl + "/api/v1/verify?token=" + token;
+        String emailBody = String.format(
+            "Hello %s,\n\n" +
+            "Thank you for signing up! Please verify your email address by clicking the link below:\n\n" +
+            "%s\n\n" +
+            "This link will expire in 24 hours.\n\n" +
+            "If you did not create an account, please ignore this email.\n\n" +
+            "Best regards,\n" +
+            "User Authentication Service",
+            username, verificationUrl
+        );
+
+        message.setText(emailBody);
+        return message;
+    }
+}
@@ -0,0 +1,172 @@
+package com.auth.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes the rows of one table that match a condition, a small batch at a time.
+ *
+ * <ul>
+ *   <li>Candidates are found with a plain (non-locking) SELECT that walks the primary key in
+ *       order from where the previous batch stopped, so no batch rescans rows already seen.</li>
+ *   <li>Each batch is deleted by primary key in its own auto-committed statement, with the
+ *       condition repeated so a row that changed in between is left alone. Row locks are held
+ *       for one short statement and each binlog event stays small.</li>
+ *   <li>Batches are separated by a pause of at least {@code pauseMillis} and at least as long
+ *       as the batch itself took, so the reaper never keeps the database busy more than half the
+ *       time and backs off on its own when queries slow down. A run also stops after
+ *       {@code maxRowsPerRun} rows, so replicas and foreground traffic keep up.</li>
+ * </ul>
+ * Published as {@code auth.reaper.deleted}, {@code auth.reaper.batch} and
+ * {@code auth.reaper.last-run.rows-per-second}, tagged with the job name.
+ */
+public class KeysetBatchDeleter {
+    private static final Logger logger = LoggerFactory.getLogger(KeysetBatchDeleter.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String job;
+    private final String table;
+    private final String keyColumn;
+    private final String condition;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final long maxRowsPerRun;
+
+    private final Counter deleted;
+    private final Timer batchTimer;
+    private final AtomicLong lastRunRowsPerSecond = new AtomicLong();
+
+    /**
+     * @param condition SQL predicate on {@code table}; its {@code ?} placeholders are bound from
+     *                  the arguments passed to {@link #run}
+     */
+    public KeysetBatchDeleter(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry, String job,
+                              String table, String keyColumn, String condition,
+                              int batchSize, long pauseMillis, long maxRowsPerRun) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Reaper batch size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.job = job;
+        this.table = table;
+        this.keyColumn = keyColumn;
+        this.condition = condition;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+        this.maxRowsPerRun = maxRowsPerRun;
+
+        this.deleted = Counter.builder("auth.reaper.deleted")
+                .tag("job", job)
+                .description("Rows removed by the background reaper")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("auth.reaper.batch")
+                .tag("job", job)
+                .description("Time to find and delete one reaper batch")
+                .register(meterRegistry);
+        Gauge.builder("auth.reaper.last-run.rows-per-second", lastRunRowsPerSecond, AtomicLong::get)
+                .tag("job", job)
+                .description("Delete throughput of the most recent reaper run")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs until no matching rows are left, {@code maxRowsPerRun} is reached or the thread is
+     * interrupted. In dry-run mode the same batches are found and counted but nothing is deleted.
+     */
+    public Result run(boolean dryRun, Object... conditionArgs) {
+        long start = System.nanoTime();
+        long rows = 0;
+        int batches = 0;
+        Object lastKey = null;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            int limit = maxRowsPerRun > 0 ? (int) Math.min(batchSize, maxRowsPerRun - rows) : batchSize;
+            if (limit <= 0) {
+                break;
+            }
+            long batchStart = System.nanoTime();
+            List<Object> keys = selectBatch(lastKey, limit, conditionArgs);
+            if (keys.isEmpty()) {
+                break;
+            }
+            lastKey = keys.get(keys.size() - 1);
+            int count = dryRun ? keys.size() : deleteBatch(keys, conditionArgs);
+            batchTimer.record(System.nanoTime() - batchStart, TimeUnit.NANOSECONDS);
+            if (!dryRun) {
+                deleted.increment(count);
+            }
+            rows += count;
+            batches++;
+            if (keys.size() < limit) {
+                break;
+            }
+            if (!pause(System.nanoTime() - batchStart)) {
+                break;
+            }
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Result result = new Result(rows, batches, elapsedMillis, dryRun);
+        if (!dryRun) {
+            lastRunRowsPerSecond.set(result.rowsPerSecond());
+        }
+        if (rows > 0 || dryRun) {
+            logger.info("Reaper {}: {} {} row(s) from {} in {} batch(es), {} ms ({} rows/s)", job,
+                    dryRun ? "would delete" : "deleted", rows, table, batches, elapsedMillis, result.rowsPerSecond());
+        }
+        return result;
+    }
+
+    private List<Object> selectBatch(Object lastKey, int limit, Object[] conditionArgs) {
+        List<Object> args = new ArrayList<>(conditionArgs.length + 2);
+        Collections.addAll(args, conditionArgs);
+        String sql = "SELECT " + keyColumn + " FROM " + table + " WHERE (" + condition + ")";
+        if (lastKey != null) {
+            sql += " AND " + keyColumn + " > ?";
+            args.add(lastKey);
+        }
+        sql += " ORDER BY " + keyColumn + " LIMIT ?";
+        args.add(limit);
+        return jdbcTemplate.queryForList(sql, Object.class, args.toArray());
+    }
+
+    private int deleteBatch(List<Object> keys, Object[] conditionArgs) {
+        String placeholders = String.join(",", Collections.nCopies(keys.size(), "?"));
+        String sql = "DELETE FROM " + table + " WHERE " + keyColumn + " IN (" + placeholders + ") AND (" + condition + ")";
+        List<Object> args = new ArrayList<>(keys);
+        Collections.addAll(args, conditionArgs);
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+
+    // Waits at least as long as the batch took, so a slow (busy) database gets proportionally more room
+    private boolean pause(long batchNanos) {
+        long sleepMillis = Math.max(pauseMillis, TimeUnit.NANOSECONDS.toMillis(batchNanos));
+        if (sleepMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(sleepMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public record Result(long rows, int batches, long elapsedMillis, boolean dryRun) {
+        public long rowsPerSecond() {
+            return elapsedMillis > 0 ? rows * 1000 / elapsedMillis : rows;
+        }
+    }
+}
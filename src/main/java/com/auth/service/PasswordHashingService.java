@@ -0,0 +1,219 @@
+package com.auth.service;
+
+import com.auth.exception.ServiceOverloadedException;
+import com.auth.observability.jfr.PasswordHashEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing (BCrypt or Argon2) on a fixed pool sized to the CPU count instead of on request threads.
+ *
+ * A credential-stuffing spike can then only saturate this pool: once its bounded queue is
+ * full, further hashing requests fail fast with {@link ServiceOverloadedException} (503 +
+ * Retry-After) and the rest of the service keeps its CPU. Queue depth, active workers,
+ * time spent waiting for a worker and rejections are published as
+ * {@code auth.password.hashing.*} meters.
+ *
+ * Bulk work (the user import) shares the same workers through {@link #submitBackground}, limited
+ * to {@code background-threads} tasks at a time so it never holds the whole pool or queue.
+ */
+@Service
+public class PasswordHashingService {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    // How long background work backs off while request work fills the queue
+    private static final long BACKGROUND_RETRY_MILLIS = 50;
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+    private final Semaphore backgroundSlots;
+
+    // Same cost factor as real hashes, so a check against it takes as long as a real login
+    private final String dummyHash;
+
+    private final Timer waitTimer;
+    private final Counter rejections;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.password-hashing.threads:0}") int threads,
+                                  @Value("${app.password-hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${app.password-hashing.background-threads:0}") int backgroundThreads,
+                                  @Value("${app.password-hashing.timeout-ms:10000}") long timeoutMillis,
+                                  @Value("${app.password-hashing.retry-after-seconds:2}") long retryAfterSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        this.dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.prestartAllCoreThreads();
+        int backgroundLimit = backgroundThreads > 0 ? Math.min(backgroundThreads, poolSize) : Math.max(1, poolSize / 2);
+        this.backgroundSlots = new Semaphore(backgroundLimit);
+
+        this.waitTimer = Timer.builder("auth.password.hashing.wait")
+                .description("Time a hashing request waited for a free worker")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("auth.password.hashing.rejected")
+                .description("Hashing requests shed because the queue was full or the wait timed out")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.queue", executor, e -> e.getQueue().size())
+                .description("Hashing requests waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Workers currently hashing")
+                .register(meterRegistry);
+
+        logger.info("Password hashing pool started with {} threads ({} for background work) and a queue of {}",
+                poolSize, backgroundLimit, queueCapacity);
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run("encode", () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run("matches", () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * True if the hash uses a legacy format or a weaker setting than new hashes get, and should
+     * be replaced once the password is known (on a successful login).
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Spends the same bcrypt work as {@link #matches} when there is no account to check, so an
+     * unknown username cannot be told apart from a wrong password by response time.
+     */
+    public void matchesDummy(CharSequence rawPassword) {
+        run("dummy", () -> passwordEncoder.matches(rawPassword, dummyHash));
+    }
+
+    /**
+     * Runs batch hashing on the pool at a lower priority than requests: at most
+     * {@code background-threads} of these are queued or running at once, and the caller blocks
+     * for a slot - or, while the queue is full of request work, for room - instead of being
+     * rejected. No timeout applies; the caller collects the result from the returned future.
+     */
+    public <T> Future<T> submitBackground(String operation, Callable<T> task) throws InterruptedException {
+        backgroundSlots.acquire();
+        FutureTask<T> future = new FutureTask<>(instrumented(operation, System.nanoTime(), task)) {
+            // Also called on cancellation, so a task cancelled while queued gives its slot back
+            @Override
+            protected void done() {
+                backgroundSlots.release();
+            }
+        };
+        while (true) {
+            try {
+                executor.execute(future);
+                return future;
+            } catch (RejectedExecutionException e) {
+                if (executor.isShutdown()) {
+                    future.cancel(false);
+                    throw e;
+                }
+            }
+            try {
+                Thread.sleep(BACKGROUND_RETRY_MILLIS);
+            } catch (InterruptedException e) {
+                future.cancel(false);
+                throw e;
+            }
+        }
+    }
+
+    private <T> T run(String operation, Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(instrumented(operation, System.nanoTime(), task));
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new ServiceOverloadedException("Password hashing queue is full", retryAfterSeconds);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejections.increment();
+            throw new ServiceOverloadedException("Password hashing timed out after " + timeoutMillis + " ms",
+                    retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Interrupted while waiting for password hashing", retryAfterSeconds);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new RuntimeException("Password hashing failed", cause);
+        }
+    }
+
+    private <T> Callable<T> instrumented(String operation, long submittedAt, Callable<T> task) {
+        return () -> {
+            long waited = System.nanoTime() - submittedAt;
+            waitTimer.record(waited, TimeUnit.NANOSECONDS);
+            PasswordHashEvent event = new PasswordHashEvent();
+            event.begin();
+            T result = null;
+            Exception failure = null;
+            try {
+                result = task.call();
+            } catch (Exception e) {
+                failure = e;
+            }
+            event.finish(operation, waited, failure == null);
+            if (failure != null) {
+                throw failure;
+            }
+            return result;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,140 @@
+package com.auth.service;
+
+import com.auth.exception.ServiceOverloadedException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replaces outdated password hashes after a successful login, off the request path.
+ *
+ * <ul>
+ *   <li>{@link #schedule} only records the user; repeated logins before the next flush
+ *       coalesce into one pending entry, and at most {@code max-pending} users wait at once.</li>
+ *   <li>A single background thread hashes the pending passwords on the bounded hashing pool
+ *       every {@code flush-interval-ms} and writes them in one JDBC batch.</li>
+ *   <li>Each UPDATE only applies if the stored hash is still the one that was verified, so a
+ *       password change that lands in between is never overwritten.</li>
+ * </ul>
+ * A rehash that is dropped (pool busy, queue full, restart) just happens on a later login.
+ */
+@Service
+public class PasswordRehashService {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordRehashService.class);
+
+    static final String UPDATE_SQL = "UPDATE users SET password_hash = ? WHERE id = ? AND password_hash = ?";
+
+    private final PasswordHashingService passwordHashingService;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final long flushIntervalMs;
+    private final int maxPending;
+    private final ConcurrentHashMap<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flusher;
+
+    public PasswordRehashService(PasswordHashingService passwordHashingService,
+                                 JdbcTemplate jdbcTemplate,
+                                 @Value("${app.password.rehash.enabled:true}") boolean enabled,
+                                 @Value("${app.password.rehash.flush-interval-ms:1000}") long flushIntervalMs,
+                                 @Value("${app.password.rehash.max-pending:10000}") int maxPending) {
+        this.passwordHashingService = passwordHashingService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxPending = maxPending;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            logger.info("Password rehash on login is disabled");
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "password-rehash");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+    }
+
+    /**
+     * Queues a new hash for {@code userId}, whose password was just verified against {@code currentHash}.
+     */
+    public void schedule(Long userId, String rawPassword, String currentHash) {
+        if (!enabled || pending.size() >= maxPending) {
+            return;
+        }
+        pending.putIfAbsent(userId, new Pending(userId, rawPassword, currentHash));
+    }
+
+    /**
+     * Hashes and writes everything pending.
+     *
+     * @return number of hashes replaced
+     */
+    int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> batch = new ArrayList<>();
+        Iterator<Pending> iterator = pending.values().iterator();
+        while (iterator.hasNext()) {
+            Pending entry = iterator.next();
+            iterator.remove();
+            try {
+                String newHash = passwordHashingService.encode(entry.rawPassword);
+                batch.add(new Object[]{newHash, entry.userId, entry.currentHash});
+            } catch (ServiceOverloadedException e) {
+                // Logins come first - whatever is left is retried on the users' next login
+                logger.debug("Hashing pool busy, deferring {} rehash(es)", pending.size() + 1);
+                pending.clear();
+                break;
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int updated = 0;
+        for (int count : jdbcTemplate.batchUpdate(UPDATE_SQL, batch)) {
+            updated += Math.max(count, 0);
+        }
+        logger.info("Upgraded {} of {} password hash(es)", updated, batch.size());
+        return updated;
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error("Password rehash flush failed: {}", e.getMessage(), e);
+        }
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    private record Pending(Long userId, String rawPassword, String currentHash) {
+    }
+}
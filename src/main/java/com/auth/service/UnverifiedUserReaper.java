@@ -0,0 +1,113 @@
+package com.auth.service;
+
+import com.auth.util.SnowflakeIdGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes accounts that were never verified within {@code retention-days} of signing up, which
+ * frees their username and email for a new signup. Their verification tokens go with them
+ * through the {@code ON DELETE CASCADE} foreign key.
+ *
+ * The availability filters are rebuilt after a run that deleted anything.
+ *
+ * The DELETE repeats {@code enabled = FALSE}, so an account verified while a batch is in flight
+ * is kept. Pacing (batch size, pause, per-run cap) is handled by {@link KeysetBatchDeleter}.
+ *
+ * Snowflake ids start with their creation time, so {@code id < minIdAt(cutoff)} bounds the
+ * primary-key walk to accounts old enough to qualify; it never reads the newer ones and needs no
+ * index on {@code created_at}. The {@code created_at} check stays for the ids assigned by
+ * AUTO_INCREMENT before V6, which are all below the bound.
+ */
+@Service
+public class UnverifiedUserReaper {
+    private static final Logger logger = LoggerFactory.getLogger(UnverifiedUserReaper.class);
+
+    private final KeysetBatchDeleter deleter;
+    private final AvailabilityService availabilityService;
+    private final boolean enabled;
+    private final boolean dryRun;
+    private final long retentionDays;
+    private final long intervalMinutes;
+
+    private ScheduledExecutorService scheduler;
+
+    public UnverifiedUserReaper(JdbcTemplate jdbcTemplate,
+                                MeterRegistry meterRegistry,
+                                AvailabilityService availabilityService,
+                                @Value("${app.reaper.unverified-users.enabled:true}") boolean enabled,
+                                @Value("${app.reaper.unverified-users.dry-run:false}") boolean dryRun,
+                                @Value("${app.reaper.unverified-users.retention-days:7}") long retentionDays,
+                                @Value("${app.reaper.unverified-users.interval-minutes:60}") long intervalMinutes,
+                                @Value("${app.reaper.unverified-users.batch-size:200}") int batchSize,
+                                @Value("${app.reaper.unverified-users.pause-ms:500}") long pauseMillis,
+                                @Value("${app.reaper.unverified-users.max-rows-per-run:10000}") long maxRowsPerRun) {
+        if (retentionDays < 1) {
+            throw new IllegalArgumentException("app.reaper.unverified-users.retention-days must be at least 1");
+        }
+        this.availabilityService = availabilityService;
+        this.enabled = enabled;
+        this.dryRun = dryRun;
+        this.retentionDays = retentionDays;
+        this.intervalMinutes = intervalMinutes;
+        this.deleter = new KeysetBatchDeleter(jdbcTemplate, meterRegistry, "unverified-users",
+                "users", "id", "id < ? AND enabled = FALSE AND created_at < ?",
+                batchSize, pauseMillis, maxRowsPerRun);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            logger.info("Unverified user reaper is disabled");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::purgeSafely, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        logger.info("Unverified user reaper scheduled every {} minute(s), retention {} day(s){}",
+                intervalMinutes, retentionDays, dryRun ? " (dry run)" : "");
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public KeysetBatchDeleter.Result purge() {
+        Instant cutoff = Instant.now().minus(retentionDays, ChronoUnit.DAYS);
+        KeysetBatchDeleter.Result result = deleter.run(dryRun, SnowflakeIdGenerator.minIdAt(cutoff.toEpochMilli()),
+                LocalDateTime.ofInstant(cutoff, ZoneId.systemDefault()));
+        if (!dryRun && result.rows() > 0) {
+            // Deleted names stay set in the Bloom filters until they are rebuilt
+            availabilityService.rebuildAsync();
+        }
+        return result;
+    }
+
+    private void purgeSafely() {
+        try {
+            purge();
+        } catch (Exception e) {
+            logger.error("Unverified user purge failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.auth.service;
+
+import com.auth.dto.UserImportRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads a bulk import one line at a time, so an upload of any size is never held in memory.
+ *
+ * <ul>
+ *   <li>NDJSON: one JSON object per line with the {@link UserImportRow} fields.</li>
+ *   <li>CSV: a header row naming the columns ({@code username, name, email, mobile, password,
+ *       password_hash} in any order), then one account per line. Fields may be quoted
+ *       with {@code "}, doubling quotes inside; a field cannot span lines.</li>
+ * </ul>
+ * Blank lines are skipped. A line that cannot be parsed is returned with an error instead of
+ * ending the import.
+ */
+public class UserImportParser {
+
+    public enum Format { NDJSON, CSV }
+
+    public record ParsedLine(long line, UserImportRow row, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private long lineNumber;
+    private String[] csvHeader;
+    private ParsedLine peeked;
+
+    public UserImportParser(BufferedReader reader, Format format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return the next non-blank line, or {@code null} at the end of the input
+     */
+    public ParsedLine next() {
+        ParsedLine line = peek();
+        peeked = null;
+        return line;
+    }
+
+    /**
+     * Like {@link #next()} but leaves the line to be returned again. Reading the first line this
+     * way checks a CSV header before any result is produced.
+     *
+     * @throws IllegalArgumentException if the CSV header is missing or malformed
+     */
+    public ParsedLine peek() {
+        if (peeked == null) {
+            peeked = read();
+        }
+        return peeked;
+    }
+
+    private ParsedLine read() {
+        String text;
+        do {
+            text = readLine();
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+
+        if (format == Format.NDJSON) {
+            try {
+                return new ParsedLine(lineNumber, objectMapper.readValue(text, UserImportRow.class), null);
+            } catch (JsonProcessingException e) {
+                return new ParsedLine(lineNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+
+        if (csvHeader == null) {
+            List<String> header = splitCsv(text);
+            if (header != null) {
+                csvHeader = header.stream().map(h -> h.trim().toLowerCase(Locale.ROOT)).toArray(String[]::new);
+            }
+            if (csvHeader == null || !List.of(csvHeader).contains("username")) {
+                throw new IllegalArgumentException("CSV input must start with a header row naming its columns");
+            }
+            return read();
+        }
+        List<String> fields = splitCsv(text);
+        if (fields == null || fields.size() != csvHeader.length) {
+            return new ParsedLine(lineNumber, null, "Expected " + csvHeader.length + " CSV fields");
+        }
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < csvHeader.length; i++) {
+            String value = fields.get(i);
+            values.put(csvHeader[i], value.isEmpty() ? null : value);
+        }
+        return new ParsedLine(lineNumber, UserImportRow.builder()
+                .username(values.get("username"))
+                .name(values.get("name"))
+                .email(values.get("email"))
+                .mobile(values.get("mobile"))
+                .password(values.get("password"))
+                .passwordHash(values.containsKey("password_hash") ? values.get("password_hash") : values.get("passwordhash"))
+                .build(), null);
+    }
+
+    private String readLine() {
+        try {
+            String text = reader.readLine();
+            if (text != null) {
+                lineNumber++;
+            }
+            return text;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the fields of one CSV line, or {@code null} if a quote is left open
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,402 @@
+package com.auth.service;
+
+import com.auth.dto.SignupRequest;
+import com.auth.dto.UserImportResult;
+import com.auth.dto.UserImportRow;
+import com.auth.dto.UserImportSummary;
+import com.auth.exception.DuplicateKeys;
+import com.auth.util.Identifiers;
+import com.auth.util.NegativeLookupCache;
+import com.auth.util.SnowflakeIdGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Creates accounts in bulk for tenant migrations, without the per-row cost of signup.
+ *
+ * <ul>
+ *   <li>Rows are read from a {@link UserImportParser} and handled in chunks of
+ *       {@code app.import.batch-size}, so memory stays flat however large the upload is.</li>
+ *   <li>Each row is checked against the {@link SignupRequest} constraints. A row may carry a
+ *       {@code passwordHash} instead of a password; it must be a {@code {bcrypt}} or
+ *       {@code {argon2}} hash or a bare bcrypt hash, and is stored unchanged.</li>
+ *   <li>Plaintext passwords are hashed in parallel as background work on the
+ *       {@link PasswordHashingService} pool, which leaves signups and logins most of the workers.
+ *       {@code app.import.bcrypt-strength} may lower the cost for the import; such hashes are
+ *       upgraded on the user's first login like any other outdated hash.</li>
+ *   <li>Usernames and emails already taken are found with one query per chunk, and the rest is
+ *       written with a single JDBC batch INSERT. If the batch still hits a unique key (a
+ *       concurrent signup), the chunk is retried row by row to tell which rows clashed.</li>
+ * </ul>
+ * Imported accounts are enabled and get no verification email: they were verified by the
+ * system they come from.
+ */
+@Service
+public class UserImportService {
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO users (id, username, name, email, mobile, password_hash, enabled) VALUES (?, ?, ?, ?, ?, ?, TRUE)";
+
+    // Ids the delegating encoder understands, plus the bare bcrypt hashes it matches by default
+    private static final Pattern HASH_FORMAT = Pattern.compile("^(\\{bcrypt}|\\{argon2}|\\$2[aby]?\\$\\d\\d\\$).+");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final Validator validator;
+    private final AvailabilityService availabilityService;
+    private final NegativeLookupCache negativeLookupCache;
+    private final SnowflakeIdGenerator idGenerator;
+    private final int batchSize;
+
+    private final Map<UserImportResult.Status, Counter> rowCounters = new EnumMap<>(UserImportResult.Status.class);
+
+    public UserImportService(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             PasswordEncoder passwordEncoder,
+                             PasswordHashingService passwordHashingService,
+                             Validator validator,
+                             AvailabilityService availabilityService,
+                             NegativeLookupCache negativeLookupCache,
+                             SnowflakeIdGenerator idGenerator,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.import.batch-size:1000}") int batchSize,
+                             @Value("${app.import.bcrypt-strength:0}") int bcryptStrength) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("app.import.batch-size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordHashingService = passwordHashingService;
+        this.validator = validator;
+        this.availabilityService = availabilityService;
+        this.negativeLookupCache = negativeLookupCache;
+        this.idGenerator = idGenerator;
+        this.batchSize = batchSize;
+
+        if (bcryptStrength > 0) {
+            BCryptPasswordEncoder importEncoder = new BCryptPasswordEncoder(bcryptStrength);
+            this.passwordEncoder = new PasswordEncoder() {
+                @Override
+                public String encode(CharSequence rawPassword) {
+                    return "{bcrypt}" + importEncoder.encode(rawPassword);
+                }
+
+                @Override
+                public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                    return passwordEncoder.matches(rawPassword, encodedPassword);
+                }
+            };
+        } else {
+            this.passwordEncoder = passwordEncoder;
+        }
+
+        for (UserImportResult.Status status : UserImportResult.Status.values()) {
+            rowCounters.put(status, Counter.builder("auth.import.rows")
+                    .tag("status", status.name().toLowerCase(Locale.ROOT))
+                    .description("Bulk import rows by outcome")
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Imports every row the parser yields.
+     *
+     * @param sink receives the results of each chunk, in input order, once the chunk is committed
+     */
+    public UserImportSummary importUsers(UserImportParser parser, Consumer<List<UserImportResult>> sink) {
+        long startedAt = System.currentTimeMillis();
+        Map<UserImportResult.Status, Long> totals = new EnumMap<>(UserImportResult.Status.class);
+        long rows = 0;
+
+        List<UserImportParser.ParsedLine> chunk = new ArrayList<>(batchSize);
+        UserImportParser.ParsedLine line;
+        do {
+            line = parser.next();
+            if (line != null) {
+                chunk.add(line);
+            }
+            if (chunk.size() == batchSize || (line == null && !chunk.isEmpty())) {
+                List<UserImportResult> results = importChunk(chunk);
+                for (UserImportResult result : results) {
+                    totals.merge(result.getStatus(), 1L, Long::sum);
+                    rowCounters.get(result.getStatus()).increment();
+                }
+                rows += results.size();
+                sink.accept(results);
+                chunk.clear();
+            }
+        } while (line != null);
+
+        long elapsedMillis = System.currentTimeMillis() - startedAt;
+        UserImportSummary summary = UserImportSummary.builder()
+                .rows(rows)
+                .created(totals.getOrDefault(UserImportResult.Status.CREATED, 0L))
+                .duplicates(totals.getOrDefault(UserImportResult.Status.DUPLICATE, 0L))
+                .invalid(totals.getOrDefault(UserImportResult.Status.INVALID, 0L))
+                .failed(totals.getOrDefault(UserImportResult.Status.FAILED, 0L))
+                .elapsedMillis(elapsedMillis)
+                .usersPerMinute(totals.getOrDefault(UserImportResult.Status.CREATED, 0L) * 60_000 / Math.max(1, elapsedMillis))
+                .build();
+        logger.info("Bulk import finished: {} rows, {} created, {} duplicates, {} invalid, {} failed in {} ms",
+                summary.getRows(), summary.getCreated(), summary.getDuplicates(), summary.getInvalid(),
+                summary.getFailed(), elapsedMillis);
+        return summary;
+    }
+
+    private List<UserImportResult> importChunk(List<UserImportParser.ParsedLine> chunk) {
+        UserImportResult[] results = new UserImportResult[chunk.size()];
+        List<Pending> pending = new ArrayList<>(chunk.size());
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            UserImportParser.ParsedLine line = chunk.get(i);
+            if (line.error() != null) {
+                results[i] = result(line.line(), null, UserImportResult.Status.INVALID, line.error());
+                continue;
+            }
+            UserImportRow row = line.row();
+            String problem = validate(row);
+            if (problem != null) {
+                results[i] = result(line.line(), row.getUsername(), UserImportResult.Status.INVALID, problem);
+                continue;
+            }
+            String passwordHash = row.getPasswordHash() == null || row.getPasswordHash().isBlank()
+                    ? null : row.getPasswordHash().trim();
+            Pending candidate = new Pending(i, line.line(), row.getUsername().trim(), row.getName().trim(),
+                    row.getEmail().trim().toLowerCase(), row.getMobile().trim(), row.getPassword(), passwordHash);
+            if (!seenUsernames.add(Identifiers.normalize(candidate.username))) {
+                results[i] = duplicate(candidate, "Username appears earlier in this import");
+            } else if (!seenEmails.add(Identifiers.normalize(candidate.email))) {
+                results[i] = duplicate(candidate, "Email appears earlier in this import");
+            } else {
+                pending.add(candidate);
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            try {
+                pending = dropExisting(pending, results);
+                pending = hash(pending, results);
+                insert(pending, results);
+            } catch (DataAccessException e) {
+                logger.error("Bulk import chunk failed: {}", e.getMessage());
+                for (Pending candidate : pending) {
+                    if (results[candidate.index] == null) {
+                        results[candidate.index] = result(candidate.line, candidate.username,
+                                UserImportResult.Status.FAILED, "Database error");
+                    }
+                }
+            }
+        }
+        return List.of(results);
+    }
+
+    private String validate(UserImportRow row) {
+        boolean preHashed = row.getPasswordHash() != null && !row.getPasswordHash().isBlank();
+        if (preHashed && row.getPassword() != null) {
+            return "Provide either password or passwordHash, not both";
+        }
+        SignupRequest request = new SignupRequest(row.getUsername(), row.getName(), row.getEmail(), row.getMobile(),
+                row.getPassword());
+        Set<ConstraintViolation<SignupRequest>> violations = validator.validate(request);
+        String problem = violations.stream()
+                .filter(v -> !(preHashed && v.getPropertyPath().toString().equals("password")))
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+        if (!problem.isEmpty()) {
+            return problem;
+        }
+        if (preHashed && (row.getPasswordHash().trim().length() > 255
+                || !HASH_FORMAT.matcher(row.getPasswordHash().trim()).matches())) {
+            return "passwordHash must be a {bcrypt} or {argon2} hash";
+        }
+        return null;
+    }
+
+    // One query per chunk instead of two exists checks per row; the unique keys still have the final word
+    private List<Pending> dropExisting(List<Pending> pending, UserImportResult[] results) {
+        String placeholders = String.join(", ", Collections.nCopies(pending.size(), "?"));
+        Object[] args = new Object[pending.size() * 2];
+        for (int i = 0; i < pending.size(); i++) {
+            args[i] = pending.get(i).username;
+            args[pending.size() + i] = pending.get(i).email;
+        }
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        jdbcTemplate.query("SELECT username, email FROM users WHERE username IN (" + placeholders
+                + ") OR email IN (" + placeholders + ")", rs -> {
+            takenUsernames.add(Identifiers.normalize(rs.getString(1)));
+            takenEmails.add(Identifiers.normalize(rs.getString(2)));
+        }, args);
+        if (takenUsernames.isEmpty()) {
+            return pending;
+        }
+
+        List<Pending> remaining = new ArrayList<>(pending.size());
+        for (Pending candidate : pending) {
+            if (takenUsernames.contains(Identifiers.normalize(candidate.username))) {
+                results[candidate.index] = duplicate(candidate, "Username already exists");
+            } else if (takenEmails.contains(Identifiers.normalize(candidate.email))) {
+                results[candidate.index] = duplicate(candidate, "Email already exists");
+            } else {
+                remaining.add(candidate);
+            }
+        }
+        return remaining;
+    }
+
+    private List<Pending> hash(List<Pending> pending, UserImportResult[] results) {
+        List<Future<String>> hashes = new ArrayList<>(pending.size());
+        try {
+            for (Pending candidate : pending) {
+                hashes.add(candidate.passwordHash != null ? null
+                        : passwordHashingService.submitBackground("import", () -> passwordEncoder.encode(candidate.password)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            hashes.stream().filter(Objects::nonNull).forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Interrupted while hashing imported passwords", e);
+        }
+
+        List<Pending> hashed = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            Pending candidate = pending.get(i);
+            Future<String> hash = hashes.get(i);
+            try {
+                if (hash != null) {
+                    candidate.passwordHash = hash.get();
+                }
+                hashed.add(candidate);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                hashes.stream().filter(Objects::nonNull).forEach(future -> future.cancel(true));
+                throw new IllegalStateException("Interrupted while hashing imported passwords", e);
+            } catch (ExecutionException e) {
+                logger.warn("Hashing failed for imported row {}: {}", candidate.line, e.getCause().getMessage());
+                results[candidate.index] = result(candidate.line, candidate.username,
+                        UserImportResult.Status.FAILED, "Password hashing failed");
+            }
+        }
+        return hashed;
+    }
+
+    private void insert(List<Pending> pending, UserImportResult[] results) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(pending.size());
+        for (Pending candidate : pending) {
+            candidate.id = idGenerator.nextId();
+            batch.add(candidate.insertArgs());
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch));
+            for (Pending candidate : pending) {
+                created(candidate, results);
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Someone took a name between the pre-check and the batch - find out which rows, one at a time
+            logger.debug("Bulk import batch hit a unique key, retrying {} rows individually", pending.size());
+            for (Pending candidate : pending) {
+                insertOne(candidate, results);
+            }
+        }
+    }
+
+    private void insertOne(Pending candidate, UserImportResult[] results) {
+        try {
+            jdbcTemplate.update(INSERT_SQL, candidate.insertArgs());
+            created(candidate, results);
+        } catch (DataIntegrityViolationException e) {
+            DuplicateKeys.Field field = DuplicateKeys.userField(e);
+            if (field == DuplicateKeys.Field.USERNAME) {
+                results[candidate.index] = duplicate(candidate, "Username already exists");
+            } else if (field == DuplicateKeys.Field.EMAIL) {
+                results[candidate.index] = duplicate(candidate, "Email already exists");
+            } else {
+                results[candidate.index] = result(candidate.line, candidate.username,
+                        UserImportResult.Status.FAILED, "Rejected by the database");
+            }
+        }
+    }
+
+    private void created(Pending candidate, UserImportResult[] results) {
+        negativeLookupCache.invalidate(candidate.username, candidate.email);
+        availabilityService.recordTaken(candidate.username, candidate.email);
+        results[candidate.index] = result(candidate.line, candidate.username, UserImportResult.Status.CREATED, null);
+    }
+
+    private static UserImportResult duplicate(Pending candidate, String message) {
+        return result(candidate.line, candidate.username, UserImportResult.Status.DUPLICATE, message);
+    }
+
+    private static UserImportResult result(long line, String username, UserImportResult.Status status, String message) {
+        return UserImportResult.builder()
+                .line(line)
+                .username(username)
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    private static final class Pending {
+        private final int index;
+        private final long line;
+        private final String username;
+        private final String name;
+        private final String email;
+        private final String mobile;
+        private final String password;
+        private String passwordHash;
+        private long id;
+
+        private Pending(int index, long line, String username, String name, String email, String mobile,
+                        String password, String passwordHash) {
+            this.index = index;
+            this.line = line;
+            this.username = username;
+            this.name = name;
+            this.email = email;
+            this.mobile = mobile;
+            this.password = password;
+            this.passwordHash = passwordHash;
+        }
+
+        private Object[] insertArgs() {
+            return new Object[]{id, username, name, email, mobile, passwordHash};
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.auth.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically removes verification tokens that can no longer be used - consumed ones and
+ * ones past {@code expires_at} - so the table only holds outstanding links.
+ * See {@link KeysetBatchDeleter} for how the deletes are paced.
+ */
+@Service
+public class VerificationTokenReaper {
+    private static final Logger logger = LoggerFactory.getLogger(VerificationTokenReaper.class);
+
+    private final KeysetBatchDeleter deleter;
+    private final boolean enabled;
+    private final boolean dryRun;
+    private final long intervalMinutes;
+
+    private ScheduledExecutorService scheduler;
+
+    public VerificationTokenReaper(JdbcTemplate jdbcTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.reaper.verification-tokens.enabled:true}") boolean enabled,
+                                   @Value("${app.reaper.verification-tokens.dry-run:false}") boolean dryRun,
+                                   @Value("${app.reaper.verification-tokens.interval-minutes:60}") long intervalMinutes,
+                                   @Value("${app.reaper.verification-tokens.batch-size:500}") int batchSize,
+                                   @Value("${app.reaper.verification-tokens.pause-ms:200}") long pauseMillis,
+                                   @Value("${app.reaper.verification-tokens.max-rows-per-run:0}") long maxRowsPerRun) {
+        this.enabled = enabled;
+        this.dryRun = dryRun;
+        this.intervalMinutes = intervalMinutes;
+        this.deleter = new KeysetBatchDeleter(jdbcTemplate, meterRegistry, "verification-tokens",
+                "verification_tokens", "selector", "used = TRUE OR expires_at < ?",
+                batchSize, pauseMillis, maxRowsPerRun);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            logger.info("Verification token reaper is disabled");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::purgeSafely, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        logger.info("Verification token reaper scheduled every {} minute(s){}", intervalMinutes, dryRun ? " (dry run)" : "");
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public KeysetBatchDeleter.Result purge() {
+        return deleter.run(dryRun, LocalDateTime.now());
+    }
+
+    private void purgeSafely() {
+        try {
+            purge();
+        } catch (Exception e) {
+            logger.error("Verification token purge failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.auth.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Usernames and emails folded the way the {@code users} table compares them. Its
+ * {@code utf8mb4_unicode_ci} collation ignores case and accents, so "José" and "jose" are the same
+ * account; every in-memory structure keyed on an identifier must fold with {@link #normalize}.
+ */
+public final class Identifiers {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private Identifiers() {
+    }
+
+    public static String normalize(String identifier) {
+        String lower = identifier.trim().toLowerCase(Locale.ROOT);
+        return COMBINING_MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+    }
+}
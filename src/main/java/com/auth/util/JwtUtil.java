@@ -1,10 +1,18 @@
 package com.auth.util;
 
+import com.auth.observability.AuthMetrics;
+import com.auth.observability.AuthMetrics.Outcome;
+import com.auth.observability.jfr.JwtSignEvent;
+import com.auth.observability.jfr.JwtVerifyEvent;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -25,15 +33,46 @@ public class JwtUtil {
     @Value("${jwt.expiration:86400000}") // 24 hours default
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    @Value("${jwt.cache.enabled:false}")
+    private boolean cacheEnabled;
+
+    @Value("${jwt.cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    // Derived once at startup - key derivation and parser construction are not free
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private VerifiedTokenCache tokenCache;
+
+    // Set by Spring; instances built by hand (tests, benchmarks) record nothing
+    private AuthMetrics metrics = AuthMetrics.disabled();
+
+    @Autowired(required = false)
+    public void setMetrics(AuthMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        tokenCache = cacheEnabled ? new VerifiedTokenCache(cacheMaxSize) : null;
     }
 
     public String generateToken(String username, Long userId) {
         logger.debug("Generating JWT token for user: {}", username);
         Map<String, Object> claims = new HashMap<>();
-        claims.put("userId", userId);
-        return createToken(claims, username);
+        // A string: Snowflake ids are above 2^53, which a JavaScript number cannot hold exactly
+        claims.put("userId", userId != null ? userId.toString() : null);
+        long started = metrics.start();
+        JwtSignEvent event = new JwtSignEvent();
+        event.begin();
+        String token = createToken(claims, username);
+        metrics.phase(AuthMetrics.Phase.TOKEN_SIGN, started);
+        event.finish(userId != null ? userId : 0, Outcome.SUCCESS);
+        return token;
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
@@ -45,21 +84,81 @@ public class JwtUtil {
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Verifies the token's signature and expiry once and returns its claims. With
+     * {@code jwt.cache.enabled} a token verified earlier is served from the
+     * {@link VerifiedTokenCache} until it expires.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    public ParsedToken verify(String token) {
+        long started = metrics.start();
+        JwtVerifyEvent event = new JwtVerifyEvent();
+        event.begin();
+        ParsedToken parsed = null;
+        RuntimeException failure = null;
+        try {
+            parsed = verifyWithCache(token);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        // finish() on a shared path, see AuthEvent
+        event.finish(parsed != null && parsed.userId() != null ? parsed.userId() : 0,
+                failure == null ? Outcome.SUCCESS
+                        : failure instanceof JwtException ? Outcome.REJECTED : Outcome.of(failure));
+        metrics.phase(AuthMetrics.Phase.TOKEN_VERIFY, started);
+        if (failure != null) {
+            throw failure;
+        }
+        return parsed;
+    }
+
+    private ParsedToken verifyWithCache(String token) {
+        if (tokenCache != null) {
+            ParsedToken cached = tokenCache.get(token);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        ParsedToken parsed = new ParsedToken(claims.getSubject(), userId(claims),
+                claims.getIssuedAt(), claims.getExpiration());
+        if (tokenCache != null) {
+            tokenCache.put(token, parsed);
+        }
+        return parsed;
+    }
+
+    // Tokens issued before the claim became a string still carry a number
+    private static Long userId(Claims claims) {
+        Object userId = claims.get("userId");
+        if (userId instanceof Number number) {
+            return number.longValue();
+        }
+        return userId != null ? Long.valueOf(userId.toString()) : null;
+    }
+
+    /**
+     * The verified-token cache, or {@code null} when {@code jwt.cache.enabled} is false.
+     */
+    public VerifiedTokenCache getTokenCache() {
+        return tokenCache;
+    }
+
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).username();
     }
 
     public Long extractUserId(String token) {
-        Claims claims = extractAllClaims(token);
-        return claims.get("userId", Long.class);
+        return verify(token).userId();
     }
 
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return verify(token).expiration();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -69,11 +168,7 @@ public class JwtUtil {
 
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return parser.parseSignedClaims(token).getPayload();
         } catch (Exception e) {
             logger.error("Error extracting claims from token: {}", e.getMessage());
             throw e;
@@ -82,7 +177,7 @@ public class JwtUtil {
 
     public Boolean isTokenExpired(String token) {
         try {
-            return extractExpiration(token).before(new Date());
+            return verify(token).isExpired();
         } catch (Exception e) {
             logger.error("Error checking token expiration: {}", e.getMessage());
             return true;
@@ -91,12 +186,11 @@ public class JwtUtil {
 
     public Boolean validateToken(String token, String username) {
         try {
-            final String extractedUsername = extractUsername(token);
-            return (extractedUsername.equals(username) && !isTokenExpired(token));
+            ParsedToken parsed = verify(token);
+            return (parsed.username().equals(username) && !parsed.isExpired());
         } catch (Exception e) {
             logger.error("Error validating token: {}", e.getMessage());
             return false;
         }
     }
 }
-
@@ -0,0 +1,122 @@
+package com.auth.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Login identifiers that recently matched no account, so repeated attempts against unknown
+ * users cost no database round trip.
+ *
+ * <ul>
+ *   <li>Entries live for {@code app.login.negative-cache.ttl-seconds} and the map is bounded by
+ *       {@code max-size}. That TTL also bounds staleness when the account is created on another
+ *       instance.</li>
+ *   <li>{@link #invalidate} is called after a signup commits. A miss is recorded only if no
+ *       invalidation happened since the lookup began (see {@link #generation()}), so a login
+ *       racing a signup cannot cache a stale miss.</li>
+ * </ul>
+ */
+@Component
+public class NegativeLookupCache {
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final int maxSize;
+    private final ConcurrentHashMap<String, Long> misses = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+
+    public NegativeLookupCache(@Value("${app.login.negative-cache.enabled:true}") boolean enabled,
+                               @Value("${app.login.negative-cache.ttl-seconds:60}") long ttlSeconds,
+                               @Value("${app.login.negative-cache.max-size:100000}") int maxSize) {
+        this.enabled = enabled;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * True if this identifier missed recently and the miss has not expired or been invalidated.
+     */
+    public boolean isKnownMiss(String identifier) {
+        if (!enabled) {
+            return false;
+        }
+        String key = Identifiers.normalize(identifier);
+        Long expiresAt = misses.get(key);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() >= expiresAt) {
+            misses.remove(key, expiresAt);
+            return false;
+        }
+        hits.increment();
+        return true;
+    }
+
+    /**
+     * Read before the lookup and pass to {@link #recordMiss}.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void recordMiss(String identifier, long lookupGeneration) {
+        if (!enabled) {
+            return;
+        }
+        if (misses.size() >= maxSize && !makeRoom()) {
+            return;
+        }
+        String key = Identifiers.normalize(identifier);
+        misses.put(key, System.currentTimeMillis() + ttlMillis);
+        if (generation.get() != lookupGeneration) {
+            // An account may have been created while we were looking - don't trust this miss
+            misses.remove(key);
+        }
+    }
+
+    public void invalidate(String... identifiers) {
+        generation.incrementAndGet();
+        for (String identifier : identifiers) {
+            if (identifier != null) {
+                misses.remove(Identifiers.normalize(identifier));
+            }
+        }
+    }
+
+    private boolean makeRoom() {
+        if (!evicting.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            misses.values().removeIf(expiresAt -> now >= expiresAt);
+            int target = maxSize - Math.max(1, maxSize / 10);
+            Iterator<Long> iterator = misses.values().iterator();
+            while (misses.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+            return true;
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public int size() {
+        return misses.size();
+    }
+}
@@ -0,0 +1,13 @@
+package com.auth.util;
+
+import java.util.Date;
+
+/**
+ * Claims of a JWT whose signature has already been verified by {@link JwtUtil#verify(String)}.
+ */
+public record ParsedToken(String username, Long userId, Date issuedAt, Date expiration) {
+
+    public boolean isExpired() {
+        return expiration.before(new Date());
+    }
+}
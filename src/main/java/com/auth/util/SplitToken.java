@@ -0,0 +1,128 @@
+package com.auth.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * A verification token in selector/validator form: {@code <selector>.<validator>}.
+ *
+ * <ul>
+ *   <li>The selector is a random {@link UUID} stored as {@code BINARY(16)}. It is the primary key
+ *       of {@code verification_tokens}, so a lookup is a single point read.</li>
+ *   <li>The validator is 32 random bytes. Only its SHA-256 is stored, and that hash is compared in
+ *       constant time, so a leaked table or a timing probe does not yield usable tokens.</li>
+ *   <li>Tokens issued before the split were bare UUID strings. V5 migrated them to the UUID as the
+ *       selector and the SHA-256 of the whole string as the validator hash, and {@link #parse}
+ *       reads them the same way, so links already sent keep working.</li>
+ * </ul>
+ */
+public final class SplitToken {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private static final int SELECTOR_LENGTH = 22;   // base64url of 16 bytes
+    private static final int VALIDATOR_LENGTH = 43;  // base64url of 32 bytes
+    private static final int LEGACY_LENGTH = 36;     // canonical UUID string
+
+    private final UUID selector;
+    private final String validator;
+    private final String value;
+
+    private SplitToken(UUID selector, String validator, String value) {
+        this.selector = selector;
+        this.validator = validator;
+        this.value = value;
+    }
+
+    public static SplitToken generate() {
+        byte[] selectorBytes = new byte[16];
+        byte[] validatorBytes = new byte[32];
+        RANDOM.nextBytes(selectorBytes);
+        RANDOM.nextBytes(validatorBytes);
+        UUID selector = toUuid(selectorBytes);
+        String validator = ENCODER.encodeToString(validatorBytes);
+        return new SplitToken(selector, validator, ENCODER.encodeToString(selectorBytes) + "." + validator);
+    }
+
+    /**
+     * Reads a token as sent to the user. Anything that is not a well-formed token is empty,
+     * so callers never hit the database for garbage input.
+     */
+    public static Optional<SplitToken> parse(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        try {
+            if (token.length() == SELECTOR_LENGTH + 1 + VALIDATOR_LENGTH && token.charAt(SELECTOR_LENGTH) == '.') {
+                byte[] selectorBytes = DECODER.decode(token.substring(0, SELECTOR_LENGTH));
+                String validator = token.substring(SELECTOR_LENGTH + 1);
+                if (selectorBytes.length != 16 || DECODER.decode(validator).length != 32) {
+                    return Optional.empty();
+                }
+                return Optional.of(new SplitToken(toUuid(selectorBytes), validator, token));
+            }
+            if (token.length() == LEGACY_LENGTH) {
+                return Optional.of(new SplitToken(UUID.fromString(token), token, token));
+            }
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        return Optional.empty();
+    }
+
+    public UUID getSelector() {
+        return selector;
+    }
+
+    /**
+     * The selector as stored in the {@code BINARY(16)} column, for native queries.
+     */
+    public byte[] getSelectorBytes() {
+        return ByteBuffer.allocate(16)
+                .putLong(selector.getMostSignificantBits())
+                .putLong(selector.getLeastSignificantBits())
+                .array();
+    }
+
+    /**
+     * SHA-256 of the validator - the only part of it that is stored.
+     */
+    public byte[] getValidatorHash() {
+        return sha256(validator);
+    }
+
+    public boolean matches(byte[] storedValidatorHash) {
+        return storedValidatorHash != null && MessageDigest.isEqual(getValidatorHash(), storedValidatorHash);
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+
+    private static UUID toUuid(byte[] bytes) {
+        long msb = 0;
+        long lsb = 0;
+        for (int i = 0; i < 8; i++) {
+            msb = (msb << 8) | (bytes[i] & 0xff);
+            lsb = (lsb << 8) | (bytes[i + 8] & 0xff);
+        }
+        return new UUID(msb, lsb);
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.auth.util;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of tokens that {@link JwtUtil} has already verified, so a client
+ * presenting the same bearer token again skips the HMAC check and the JSON decode.
+ *
+ * <ul>
+ *   <li>Entries are keyed by the token's signature segment. On a hit the full token is
+ *       compared as well, so a forged header or payload that reuses a valid signature
+ *       is not accepted.</li>
+ *   <li>An entry is never served after the token's {@code exp}. It is dropped when it
+ *       is read after that point, or when a full cache is swept.</li>
+ *   <li>Reads never lock. One writer at a time sweeps a full cache, and other writers
+ *       skip caching while that happens.</li>
+ * </ul>
+ */
+public class VerifiedTokenCache {
+
+    private final int maxSize;
+    private final ConcurrentHashMap<String, Entry> entries;
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public VerifiedTokenCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Token cache size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.entries = new ConcurrentHashMap<>(Math.min(maxSize, 1 << 16));
+    }
+
+    /**
+     * Returns the cached claims for this exact token, or {@code null} if the token has
+     * to be verified.
+     */
+    public ParsedToken get(String token) {
+        String signature = signatureOf(token);
+        Entry entry = signature != null ? entries.get(signature) : null;
+        if (entry == null || !entry.token.equals(token)) {
+            misses.increment();
+            return null;
+        }
+        if (System.currentTimeMillis() >= entry.expiresAtMillis) {
+            if (entries.remove(signature, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.parsed;
+    }
+
+    /**
+     * Caches claims that were just verified. Tokens without an expiry are not cached.
+     */
+    public void put(String token, ParsedToken parsed) {
+        String signature = signatureOf(token);
+        if (signature == null || parsed.expiration() == null) {
+            return;
+        }
+        if (entries.size() >= maxSize && !makeRoom()) {
+            return;
+        }
+        entries.put(signature, new Entry(token, parsed, parsed.expiration().getTime()));
+    }
+
+    private boolean makeRoom() {
+        if (!evicting.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            // Drop expired tokens first, then arbitrary ones until there is 10% headroom
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> {
+                if (now >= entry.expiresAtMillis) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            });
+            int target = maxSize - Math.max(1, maxSize / 10);
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (entries.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.increment();
+            }
+            return true;
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static String signatureOf(String token) {
+        int dot = token.lastIndexOf('.');
+        return (dot > 0 && dot < token.length() - 1) ? token.substring(dot + 1) : null;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private record Entry(String token, ParsedToken parsed, long expiresAtMillis) {
+    }
+}
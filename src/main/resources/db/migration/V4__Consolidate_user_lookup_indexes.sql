@@ -0,0 +1,19 @@
+-- Login looks users up with plain equality on username/email. The table collation
+-- (utf8mb4_unicode_ci) already makes that case-insensitive, so no LOWER() is needed and
+-- the UNIQUE keys answer every lookup on their own. idx_username / idx_email duplicated
+-- those keys and only cost extra writes and buffer pool space.
+--
+-- Expected plans (MySQL 8.0):
+--   EXPLAIN SELECT * FROM users WHERE username = 'Alice';
+--     type=const, key=uk_users_username, rows=1
+--   EXPLAIN SELECT * FROM users WHERE email = 'alice@example.com' OR username = 'alice@example.com';
+--     type=index_merge, key=uk_users_email,uk_users_username, Extra=Using union(uk_users_email,uk_users_username)
+--   EXPLAIN SELECT * FROM users WHERE LOWER(username) = LOWER('Alice');   -- previous query
+--     type=ALL, key=NULL (full table scan)
+-- UserLookupBenchmark checks the first two plans before it measures anything.
+
+ALTER TABLE users
+    DROP INDEX idx_username,
+    DROP INDEX idx_email,
+    RENAME INDEX username TO uk_users_username,
+    RENAME INDEX email TO uk_users_email;
@@ -0,0 +1,35 @@
+-- Verification tokens become selector/validator pairs (see SplitToken):
+--   selector        BINARY(16)  random, the primary key - verify is a single PK point read
+--   validator_hash  BINARY(32)  SHA-256 of the validator, compared in constant time
+-- The 36-char token column, its UNIQUE key, the duplicate idx_token and the surrogate id
+-- all go, leaving two indexes on the table (PRIMARY and idx_user_id) instead of four.
+--
+-- Outstanding tokens were bare UUID strings. The UUID's 16 bytes become the selector and the
+-- SHA-256 of the whole string the validator hash, which is exactly how SplitToken.parse reads
+-- a legacy token, so verification links already emailed keep working.
+--
+-- Expected plan (MySQL 8.0):
+--   EXPLAIN SELECT * FROM verification_tokens WHERE selector = ?;
+--     type=const, key=PRIMARY, rows=1
+
+ALTER TABLE verification_tokens
+    ADD COLUMN selector BINARY(16) NULL FIRST,
+    ADD COLUMN validator_hash BINARY(32) NULL AFTER selector;
+
+UPDATE verification_tokens
+SET selector       = UNHEX(REPLACE(token, '-', '')),
+    validator_hash = UNHEX(SHA2(token, 256));
+
+-- Anything that was not a UUID could never have been issued by this service
+DELETE FROM verification_tokens WHERE selector IS NULL OR LENGTH(selector) <> 16;
+
+ALTER TABLE verification_tokens
+    DROP INDEX idx_token,
+    DROP INDEX token,
+    DROP COLUMN token,
+    MODIFY id BIGINT NOT NULL,
+    DROP PRIMARY KEY,
+    DROP COLUMN id,
+    MODIFY selector BINARY(16) NOT NULL,
+    MODIFY validator_hash BINARY(32) NOT NULL,
+    ADD PRIMARY KEY (selector);
@@ -0,0 +1,21 @@
+-- users.id and email_outbox.id are now assigned by the application (SnowflakeIdGenerator:
+-- 41-bit milliseconds | 10-bit node | 12-bit sequence) instead of AUTO_INCREMENT, so Hibernate
+-- knows each key before the INSERT and can batch inserts rather than reading every key back.
+--
+-- Existing rows keep their ids. New ids start around 2^22 * (ms since 2024-01-01), far above
+-- any AUTO_INCREMENT value, so they cannot collide and id order still follows insert order -
+-- the reapers' keyset batches rely on that.
+--
+-- Dropping AUTO_INCREMENT makes any INSERT that forgets the id fail instead of silently mixing
+-- the two sequences. verification_tokens.user_id references users.id, and MySQL refuses to
+-- modify a referenced column while foreign key checks are on; the type itself is unchanged.
+
+SET FOREIGN_KEY_CHECKS = 0;
+
+ALTER TABLE users
+    MODIFY id BIGINT NOT NULL;
+
+ALTER TABLE email_outbox
+    MODIFY id BIGINT NOT NULL;
+
+SET FOREIGN_KEY_CHECKS = 1;
@@ -0,0 +1,11 @@
+-- email_outbox.token holds the full selector.validator that goes into the verification link.
+-- verification_tokens stores only the validator's SHA-256 so that a leaked table yields no usable
+-- tokens; keeping the plaintext here until the row is deleted defeated that. The token is now
+-- cleared as soon as the entry is SENT or FAILED, so only emails still waiting to go out hold one.
+
+ALTER TABLE email_outbox
+    MODIFY token VARCHAR(100) NULL;
+
+UPDATE email_outbox
+SET token = NULL
+WHERE status IN ('SENT', 'FAILED');
@@ -0,0 +1,35 @@
+package com.auth.config;
+
+import com.auth.util.SnowflakeIdGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IdGeneratorConfig Tests")
+class IdGeneratorConfigTest {
+
+    private final IdGeneratorConfig config = new IdGeneratorConfig();
+
+    @Test
+    @DisplayName("An Explicit Node Id Is Used As Given")
+    void testExplicitNodeId() {
+        long id = config.snowflakeIdGenerator(" 17 ").nextId();
+
+        assertEquals(17, SnowflakeIdGenerator.nodeId(id));
+    }
+
+    @Test
+    @DisplayName("A Missing Node Id Fails Startup")
+    void testMissingNodeId() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> config.snowflakeIdGenerator(" "));
+
+        assertTrue(exception.getMessage().contains("ID_NODE_ID"));
+    }
+
+    @Test
+    @DisplayName("A Node Id Out Of Range Fails Startup")
+    void testNodeIdOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> config.snowflakeIdGenerator("1024"));
+    }
+}
@@ -0,0 +1,81 @@
+package com.auth.config;
+
+import com.auth.util.JwtUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Actuator on its own port with the application's security rules, without the database.
+ */
+@AutoConfigureObservability
+@SpringBootTest(classes = ManagementPortTest.Config.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"management.server.port=0", "management.health.mail.enabled=false"})
+@DisplayName("Management Port Tests")
+class ManagementPortTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    @DisplayName("The Application Port Serves No Actuator Endpoints")
+    void testNotOnApplicationPort() throws Exception {
+        HttpResponse<String> response = get(serverPort, "/actuator/prometheus");
+
+        assertNotEquals(200, response.statusCode());
+        assertFalse(response.body().contains("jvm_memory_used_bytes"));
+    }
+
+    @Test
+    @DisplayName("Prometheus Scrapes The Management Port Without A Token")
+    void testPrometheusOnManagementPort() throws Exception {
+        HttpResponse<String> response = get(managementPort, "/actuator/prometheus");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("jvm_memory_used_bytes"));
+    }
+
+    @Test
+    @DisplayName("Other Actuator Endpoints Still Need A Token")
+    void testMetricsNeedToken() throws Exception {
+        assertEquals(401, get(managementPort, "/actuator/metrics").statusCode());
+    }
+
+    private HttpResponse<String> get(int port, String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Configuration
+    @EnableAutoConfiguration(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            FlywayAutoConfiguration.class})
+    @Import(SecurityConfig.class)
+    static class Config {
+    }
+}
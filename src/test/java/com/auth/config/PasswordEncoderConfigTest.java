@@ -0,0 +1,58 @@
+package com.auth.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PasswordEncoderConfig Tests")
+class PasswordEncoderConfigTest {
+
+    private final PasswordEncoderConfig config = new PasswordEncoderConfig();
+
+    @Test
+    @DisplayName("New Hashes Carry The Encoder Id")
+    void testPrefixedHashes() {
+        PasswordEncoder encoder = config.passwordEncoder("bcrypt", 5, 250, 4, 16);
+
+        String hash = encoder.encode("password123");
+
+        assertTrue(hash.startsWith("{bcrypt}$2a$05$"));
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    @DisplayName("Legacy Unprefixed Bcrypt Still Matches And Needs Upgrade")
+    void testLegacyHash() {
+        PasswordEncoder encoder = config.passwordEncoder("bcrypt", 5, 250, 4, 16);
+        String legacy = new BCryptPasswordEncoder(4).encode("password123");
+
+        assertTrue(encoder.matches("password123", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+    }
+
+    @Test
+    @DisplayName("Lower Cost And Other Algorithms Need Upgrade")
+    void testUpgradeToCurrentEncoder() {
+        PasswordEncoder weak = config.passwordEncoder("bcrypt", 4, 250, 4, 16);
+        PasswordEncoder current = config.passwordEncoder("bcrypt", 5, 250, 4, 16);
+        PasswordEncoder argon2 = config.passwordEncoder("argon2", 5, 250, 4, 16);
+
+        String weakHash = weak.encode("password123");
+        String argonHash = argon2.encode("password123");
+
+        assertTrue(current.upgradeEncoding(weakHash));
+        assertTrue(current.upgradeEncoding(argonHash));
+        assertTrue(current.matches("password123", argonHash));
+        assertTrue(argon2.upgradeEncoding(weakHash));
+    }
+
+    @Test
+    @DisplayName("Unknown Encoder Id Fails Startup")
+    void testUnknownEncoder() {
+        assertThrows(IllegalStateException.class, () -> config.passwordEncoder("md5", 5, 250, 4, 16));
+    }
+}
@@ -1,24 +1,36 @@
 package com.auth.controller;
 
+import com.auth.config.SecurityConfig;
+import com.auth.config.WebConfig;
 import com.auth.dto.AuthResponse;
 import com.auth.dto.LoginRequest;
 import com.auth.dto.SignupRequest;
+import com.auth.exception.RateLimitExceededException;
+import com.auth.exception.ServiceOverloadedException;
+import com.auth.security.RateLimitService;
 import com.auth.service.AuthService;
+import com.auth.util.JwtUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(AuthController.class)
+@Import({SecurityConfig.class, WebConfig.class})
 @DisplayName("AuthController API Tests")
 class AuthControllerTest {
 
@@ -28,6 +40,12 @@ class AuthControllerTest {
     @MockBean
     private AuthService authService;
 
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private RateLimitService rateLimitService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -354,6 +372,47 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.success").value(false));
     }
 
+    @Test
+    @DisplayName("POST /api/v1/login - Hashing Pool Saturated")
+    void testLogin_ServiceOverloaded() throws Exception {
+        // Given
+        LoginRequest request = new LoginRequest();
+        request.setUsernameOrEmail("testuser");
+        request.setPassword("password123");
+
+        when(authService.login(any(LoginRequest.class)))
+                .thenThrow(new ServiceOverloadedException("Password hashing queue is full", 2));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/login - Client IP Over Budget")
+    void testLogin_RateLimited() throws Exception {
+        // Given
+        LoginRequest request = new LoginRequest();
+        request.setUsernameOrEmail("testuser");
+        request.setPassword("password123");
+
+        doThrow(new RateLimitExceededException("Too many login attempts from this address", 7))
+                .when(rateLimitService).checkLoginIp(anyString());
+
+        // When & Then - rejected before the controller or service run
+        mockMvc.perform(post("/api/v1/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "7"))
+                .andExpect(jsonPath("$.success").value(false));
+        verify(authService, never()).login(any(LoginRequest.class));
+    }
+
     @Test
     @DisplayName("POST /api/v1/login - User Not Found")
     void testLogin_UserNotFound() throws Exception {
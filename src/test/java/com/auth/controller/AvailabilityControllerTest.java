@@ -0,0 +1,89 @@
+package com.auth.controller;
+
+import com.auth.config.SecurityConfig;
+import com.auth.config.WebConfig;
+import com.auth.exception.RateLimitExceededException;
+import com.auth.security.RateLimitService;
+import com.auth.service.AvailabilityService;
+import com.auth.util.JwtUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AvailabilityController.class)
+@Import({SecurityConfig.class, WebConfig.class})
+@DisplayName("AvailabilityController API Tests")
+class AvailabilityControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AvailabilityService availabilityService;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private RateLimitService rateLimitService;
+
+    @Test
+    @DisplayName("GET /api/v1/availability - Username And Email")
+    void testAvailability() throws Exception {
+        when(availabilityService.isUsernameAvailable("newuser")).thenReturn(true);
+        when(availabilityService.isEmailAvailable("taken@example.com")).thenReturn(false);
+
+        mockMvc.perform(get("/api/v1/availability")
+                .param("username", "newuser")
+                .param("email", "taken@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("newuser"))
+                .andExpect(jsonPath("$.usernameAvailable").value(true))
+                .andExpect(jsonPath("$.email").value("taken@example.com"))
+                .andExpect(jsonPath("$.emailAvailable").value(false));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/availability - Only The Requested Field Is Checked")
+    void testUsernameOnly() throws Exception {
+        when(availabilityService.isUsernameAvailable("newuser")).thenReturn(true);
+
+        mockMvc.perform(get("/api/v1/availability").param("username", "newuser"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usernameAvailable").value(true))
+                .andExpect(jsonPath("$.emailAvailable").doesNotExist());
+        verify(availabilityService, never()).isEmailAvailable(anyString());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/availability - Client IP Over Budget")
+    void testRateLimited() throws Exception {
+        doThrow(new RateLimitExceededException("Too many availability checks from this address", 2))
+                .when(rateLimitService).checkAvailabilityIp(anyString());
+
+        mockMvc.perform(get("/api/v1/availability").param("username", "admin"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"));
+        verify(availabilityService, never()).isUsernameAvailable(anyString());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/availability - Nothing To Check")
+    void testNoParameters() throws Exception {
+        mockMvc.perform(get("/api/v1/availability"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+}
@@ -0,0 +1,82 @@
+package com.auth.controller;
+
+import com.auth.config.SecurityConfig;
+import com.auth.config.WebConfig;
+import com.auth.security.RateLimitService;
+import com.auth.util.JwtUtil;
+import com.auth.util.ParsedToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest({TestMailController.class, EmailDebugController.class})
+@Import({SecurityConfig.class, WebConfig.class})
+@TestPropertySource(properties = "app.admin.usernames=admin")
+@DisplayName("Mail Test And Debug Endpoints Security Tests")
+class TestMailControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JavaMailSender mailSender;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private RateLimitService rateLimitService;
+
+    @BeforeEach
+    void setUp() {
+        Date now = new Date();
+        when(jwtUtil.verify("admin-token")).thenReturn(new ParsedToken("admin", 1L, now, now));
+        when(jwtUtil.verify("user-token")).thenReturn(new ParsedToken("johndoe", 2L, now, now));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/test/email - Non-Admin Accounts Are Forbidden")
+    void testSendMailNotAdmin() throws Exception {
+        mockMvc.perform(post("/api/v1/test/email")
+                .param("to", "victim@example.com")
+                .header("Authorization", "Bearer user-token"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(mailSender);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/debug/email-config - Non-Admin Accounts Are Forbidden")
+    void testEmailConfigNotAdmin() throws Exception {
+        mockMvc.perform(get("/api/v1/debug/email-config")
+                .header("Authorization", "Bearer user-token"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/test/email - Admins Can Send")
+    void testSendMailAdmin() throws Exception {
+        mockMvc.perform(post("/api/v1/test/email")
+                .param("to", "admin@example.com")
+                .header("Authorization", "Bearer admin-token"))
+                .andExpect(status().isOk());
+
+        verify(mailSender).send(any(SimpleMailMessage.class));
+    }
+}
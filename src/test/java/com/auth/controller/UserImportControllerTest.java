@@ -0,0 +1,116 @@
+package com.auth.controller;
+
+import com.auth.config.SecurityConfig;
+import com.auth.config.WebConfig;
+import com.auth.dto.UserImportResult;
+import com.auth.dto.UserImportSummary;
+import com.auth.security.RateLimitService;
+import com.auth.service.UserImportService;
+import com.auth.util.JwtUtil;
+import com.auth.util.ParsedToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(UserImportController.class)
+@Import({SecurityConfig.class, WebConfig.class})
+@TestPropertySource(properties = "app.admin.usernames=root, Admin")
+@DisplayName("UserImportController API Tests")
+class UserImportControllerTest {
+
+    private static final String NDJSON_ROW = "{\"username\":\"alice\",\"name\":\"Alice\",\"email\":\"alice@example.com\"," +
+            "\"mobile\":\"1234567890\",\"password\":\"SecurePass123!\"}\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserImportService userImportService;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private RateLimitService rateLimitService;
+
+    @BeforeEach
+    void setUp() {
+        Date now = new Date();
+        when(jwtUtil.verify("admin-token")).thenReturn(new ParsedToken("admin", 1L, now, now));
+        when(jwtUtil.verify("user-token")).thenReturn(new ParsedToken("johndoe", 2L, now, now));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("POST /api/v1/admin/users/import - Streams Results And A Summary")
+    void testImport() throws Exception {
+        when(userImportService.importUsers(any(), any())).thenAnswer(invocation -> {
+            Consumer<List<UserImportResult>> sink = invocation.getArgument(1);
+            sink.accept(List.of(UserImportResult.builder().line(1).username("alice")
+                    .status(UserImportResult.Status.CREATED).build()));
+            return UserImportSummary.builder().rows(1).created(1).build();
+        });
+
+        mockMvc.perform(post("/api/v1/admin/users/import")
+                .header("Authorization", "Bearer admin-token")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(NDJSON_ROW))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"line\":1,\"username\":\"alice\",\"status\":\"CREATED\"}\n" +
+                        "{\"summary\":{\"rows\":1,\"created\":1,\"duplicates\":0,\"invalid\":0,\"failed\":0," +
+                        "\"elapsedMillis\":0,\"usersPerMinute\":0}}\n"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/admin/users/import - Requires Authentication")
+    void testUnauthenticated() throws Exception {
+        mockMvc.perform(post("/api/v1/admin/users/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(NDJSON_ROW))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(userImportService);
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/admin/users/import - Non-Admin Accounts Are Forbidden")
+    void testNotAdmin() throws Exception {
+        mockMvc.perform(post("/api/v1/admin/users/import")
+                .header("Authorization", "Bearer user-token")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(NDJSON_ROW))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(userImportService);
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/admin/users/import - CSV Without A Header Is A Bad Request")
+    void testCsvWithoutHeader() throws Exception {
+        mockMvc.perform(post("/api/v1/admin/users/import")
+                .header("Authorization", "Bearer admin-token")
+                .contentType("text/csv")
+                .content("alice,Alice,alice@example.com,1234567890,SecurePass123!\n"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(userImportService);
+    }
+}
@@ -3,10 +3,13 @@ package com.auth.integration;
 import com.auth.dto.AuthResponse;
 import com.auth.dto.LoginRequest;
 import com.auth.dto.SignupRequest;
+import com.auth.entity.EmailOutboxEntry;
 import com.auth.entity.User;
 import com.auth.entity.VerificationToken;
+import com.auth.repository.EmailOutboxRepository;
 import com.auth.repository.UserRepository;
 import com.auth.repository.VerificationTokenRepository;
+import com.auth.util.SplitToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,13 +18,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -47,7 +49,10 @@ class AuthIntegrationTest {
     private VerificationTokenRepository tokenRepository;
 
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
 
     @BeforeEach
     void setUp() {
@@ -73,16 +78,16 @@ class AuthIntegrationTest {
                 .andExpect(jsonPath("$.username").value("integrationtest"))
                 .andExpect(jsonPath("$.email").value("integration@test.com"));
 
-        // Step 2: Get verification token from database
-        User user = userRepository.findByUsernameIgnoreCase("integrationtest").orElseThrow();
-        VerificationToken token = tokenRepository.findAll().stream()
-                .filter(t -> !t.getUsed() && t.getUser().getId().equals(user.getId()))
+        // Step 2: Get the verification token from the queued email - only its hash is stored
+        String token = outboxRepository.findAll().stream()
+                .filter(entry -> entry.getUsername().equals("integrationtest"))
+                .map(EmailOutboxEntry::getToken)
                 .findFirst()
                 .orElseThrow();
 
         // Step 3: Verify email
         mockMvc.perform(get("/api/v1/verify")
-                .param("token", token.getToken()))
+                .param("token", token))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true));
 
@@ -266,9 +271,11 @@ class AuthIntegrationTest {
         userRepository.save(user);
 
         // Create expired token
+        SplitToken expiredTokenValue = SplitToken.generate();
         VerificationToken expiredToken = VerificationToken.builder()
+                .selector(expiredTokenValue.getSelector())
+                .validatorHash(expiredTokenValue.getValidatorHash())
                 .user(user)
-                .token(UUID.randomUUID().toString())
                 .expiresAt(LocalDateTime.now().minusHours(1))
                 .used(false)
                 .build();
@@ -276,7 +283,7 @@ class AuthIntegrationTest {
 
         // Try to verify with expired token
         mockMvc.perform(get("/api/v1/verify")
-                .param("token", expiredToken.getToken()))
+                .param("token", expiredTokenValue.toString()))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.message").value(org.hamcrest.Matchers.containsString("expired")));
@@ -315,9 +322,11 @@ class AuthIntegrationTest {
         userRepository.save(user);
 
         // Create used token
+        SplitToken usedTokenValue = SplitToken.generate();
         VerificationToken usedToken = VerificationToken.builder()
+                .selector(usedTokenValue.getSelector())
+                .validatorHash(usedTokenValue.getValidatorHash())
                 .user(user)
-                .token(UUID.randomUUID().toString())
                 .expiresAt(LocalDateTime.now().plusHours(24))
                 .used(true)
                 .build();
@@ -325,7 +334,7 @@ class AuthIntegrationTest {
 
         // Try to verify with already used token
         mockMvc.perform(get("/api/v1/verify")
-                .param("token", usedToken.getToken()))
+                .param("token", usedTokenValue.toString()))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.success").value(false));
     }
@@ -345,9 +354,11 @@ class AuthIntegrationTest {
         userRepository.save(user);
 
         // Create unused token
+        SplitToken tokenValue = SplitToken.generate();
         VerificationToken token = VerificationToken.builder()
+                .selector(tokenValue.getSelector())
+                .validatorHash(tokenValue.getValidatorHash())
                 .user(user)
-                .token(UUID.randomUUID().toString())
                 .expiresAt(LocalDateTime.now().plusHours(24))
                 .used(false)
                 .build();
@@ -355,7 +366,7 @@ class AuthIntegrationTest {
 
         // Try to verify (should return success message about already verified)
         mockMvc.perform(get("/api/v1/verify")
-                .param("token", token.getToken()))
+                .param("token", tokenValue.toString()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.message").value(org.hamcrest.Matchers.containsString("already verified")));
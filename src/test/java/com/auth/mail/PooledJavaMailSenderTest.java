@@ -0,0 +1,102 @@
+package com.auth.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PooledJavaMailSender Tests")
+class PooledJavaMailSenderTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP.dynamicPort());
+
+    private PooledJavaMailSender sender;
+
+    private PooledJavaMailSender newSender(int maxConnections, int maxMessagesPerConnection, long validateAfterIdleMillis) {
+        sender = new PooledJavaMailSender(maxConnections, maxMessagesPerConnection, 60000, validateAfterIdleMillis, 5000);
+        sender.setHost("localhost");
+        sender.setPort(greenMail.getSmtp().getPort());
+        sender.afterPropertiesSet();
+        return sender;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (sender != null) {
+            sender.destroy();
+        }
+    }
+
+    private static SimpleMailMessage message(int i) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@authservice.com");
+        message.setTo("user" + i + "@example.com");
+        message.setSubject("Verify " + i);
+        message.setText("Body " + i);
+        return message;
+    }
+
+    @Test
+    @DisplayName("Consecutive Sends Reuse One Connection")
+    void testConnectionReused() {
+        newSender(2, 100, 5000);
+
+        for (int i = 0; i < 5; i++) {
+            sender.send(message(i));
+        }
+        sender.send(message(5), message(6), message(7));
+
+        assertEquals(8, greenMail.getReceivedMessages().length);
+        assertEquals(1, sender.getConnectionsOpened());
+        assertEquals(1, sender.getIdleConnections());
+    }
+
+    @Test
+    @DisplayName("Connection Retired After Max Messages")
+    void testConnectionRecycledAfterMaxMessages() {
+        newSender(2, 2, 5000);
+
+        sender.send(message(0), message(1), message(2), message(3), message(4));
+
+        assertEquals(5, greenMail.getReceivedMessages().length);
+        assertEquals(3, sender.getConnectionsOpened());
+        assertEquals(2, sender.getConnectionsClosed());
+    }
+
+    @Test
+    @DisplayName("Dead Idle Connection Replaced After Health Check")
+    void testStaleConnectionReplaced() {
+        newSender(1, 100, 0);
+        sender.send(message(0));
+
+        // Server restart drops the pooled connection
+        greenMail.stop();
+        greenMail.start();
+        sender.setPort(greenMail.getSmtp().getPort());
+
+        sender.send(message(1));
+
+        assertEquals(1, greenMail.getReceivedMessages().length);
+        assertEquals(2, sender.getConnectionsOpened());
+    }
+
+    @Test
+    @DisplayName("Unreachable Server Reports Every Message As Failed")
+    void testConnectionFailure() {
+        newSender(1, 100, 5000);
+        sender.setPort(1);
+
+        MailSendException exception = assertThrows(MailSendException.class,
+                () -> sender.send(message(0), message(1)));
+
+        assertEquals(2, exception.getFailedMessages().size());
+        assertEquals(0, sender.getIdleConnections());
+    }
+}
@@ -0,0 +1,72 @@
+package com.auth.observability;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncLogAppenderTest {
+
+    @Test
+    void dropsInfoFirstThenEverythingAndCountsTheDrops() throws Exception {
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        CountDownLatch release = new CountDownLatch(1);
+        List<ILoggingEvent> written = new CopyOnWriteArrayList<>();
+        AppenderBase<ILoggingEvent> stalledWriter = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                written.add(event);
+            }
+        };
+        stalledWriter.setName("STALLED");
+        stalledWriter.setContext(context);
+        stalledWriter.start();
+
+        AsyncLogAppender appender = new AsyncLogAppender();
+        appender.setName("ASYNC");
+        appender.setContext(context);
+        appender.setQueueSize(10);
+        appender.setNeverBlock(true);
+        appender.addAppender(stalledWriter);
+        appender.start();
+
+        Logger logger = context.getLogger("request");
+        logger.setLevel(Level.INFO);
+        logger.addAppender(appender);
+
+        // The worker takes this one and stalls in the writer, leaving the queue empty
+        logger.info("first");
+        while (appender.getNumberOfElementsInQueue() > 0) {
+            Thread.onSpinWait();
+        }
+
+        for (int i = 0; i < 9; i++) {
+            logger.info("queued {}", i);
+        }
+        logger.info("past the discarding threshold");
+        logger.warn("kept");
+        logger.warn("queue full");
+        assertEquals(2, appender.getDropped());
+
+        // The caller was never blocked; the writer catches up once released
+        release.countDown();
+        appender.stop();
+        assertEquals(11, written.size());
+        assertEquals("kept", written.get(10).getMessage());
+    }
+}
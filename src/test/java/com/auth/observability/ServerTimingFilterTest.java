@@ -0,0 +1,79 @@
+package com.auth.observability;
+
+import com.auth.observability.AuthMetrics.Phase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTimingFilterTest {
+
+    private final ServerTiming serverTiming = new ServerTiming(true);
+    private final AuthMetrics metrics = new AuthMetrics(new SimpleMeterRegistry(), serverTiming, false);
+    private final ServerTimingFilter filter = new ServerTimingFilter(serverTiming);
+
+    @Test
+    void headerListsRecordedPhasesAndTotal() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FilterChain chain = (req, res) -> {
+            serverTiming.record(Phase.LOOKUP, TimeUnit.MICROSECONDS.toNanos(1_250));
+            serverTiming.record(Phase.PASSWORD_VERIFY, TimeUnit.MILLISECONDS.toNanos(42));
+            serverTiming.record(Phase.LOOKUP, TimeUnit.MICROSECONDS.toNanos(50));
+            res.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+            res.flushBuffer();
+            // Recorded after the body started, too late for the header
+            serverTiming.record(Phase.TOKEN_SIGN, 1_000);
+        };
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/login"), response, chain);
+
+        String header = response.getHeader(ServerTiming.HEADER);
+        assertNotNull(header);
+        assertTrue(header.startsWith("lookup;dur=1.300, password-verify;dur=42.000, total;dur="), header);
+        assertFalse(header.contains("token-sign"), header);
+    }
+
+    @Test
+    void phasesTimedByAuthMetricsReachTheHeaderWithTimersOff() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/login"), response,
+                (req, res) -> metrics.phase(Phase.RATE_LIMIT, metrics.start()));
+
+        assertTrue(response.getHeader(ServerTiming.HEADER).startsWith("rate-limit;dur="));
+    }
+
+    @Test
+    void headerIsSetForResponsesWithoutBody() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/admin/server-timing"), response,
+                (req, res) -> ((HttpServletResponse) res).setStatus(401));
+
+        assertTrue(response.getHeader(ServerTiming.HEADER).startsWith("total;dur="));
+    }
+
+    @Test
+    void nothingIsRecordedWhenSwitchedOff() throws Exception {
+        serverTiming.setEnabled(false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/login"), response, (req, res) -> {
+            assertEquals(0, metrics.start());
+            serverTiming.record(Phase.LOOKUP, 1_000);
+        });
+
+        assertNull(response.getHeader(ServerTiming.HEADER));
+        // Switching back on starts from a clean frame
+        serverTiming.setEnabled(true);
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/login"), response, (req, res) -> { });
+        assertTrue(response.getHeader(ServerTiming.HEADER).startsWith("total;dur="));
+    }
+}
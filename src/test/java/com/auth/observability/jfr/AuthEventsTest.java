@@ -0,0 +1,101 @@
+package com.auth.observability.jfr;
+
+import com.auth.util.JwtUtil;
+import io.jsonwebtoken.JwtException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "test-secret-key-that-is-long-enough-for-hmac-sha-256-signing");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60_000L);
+        jwtUtil.init();
+    }
+
+    @Test
+    void shippedProfileRecordsEventsWithUserIdAndOutcome() throws Exception {
+        Map<String, String> settings = shippedProfile();
+        // The profile skips sub-millisecond JWT work; record every call here
+        settings.put("com.auth.JwtSign#threshold", "0 ms");
+        settings.put("com.auth.JwtVerify#threshold", "0 ms");
+
+        List<RecordedEvent> events = record(settings, () -> {
+            jwtUtil.verify(jwtUtil.generateToken("alice", 42L));
+            assertThrows(JwtException.class, () -> jwtUtil.verify("not-a-token"));
+        });
+
+        RecordedEvent sign = single(events, "com.auth.JwtSign");
+        assertEquals(42L, sign.getLong("userId"));
+        assertEquals("success", sign.getString("outcome"));
+
+        List<RecordedEvent> verifications = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.auth.JwtVerify"))
+                .toList();
+        assertEquals(2, verifications.size());
+        assertEquals(42L, verifications.get(0).getLong("userId"));
+        assertEquals("success", verifications.get(0).getString("outcome"));
+        assertEquals(0L, verifications.get(1).getLong("userId"));
+        assertEquals("rejected", verifications.get(1).getString("outcome"));
+    }
+
+    @Test
+    void eventsAreOffWithoutTheProfile() throws Exception {
+        List<RecordedEvent> events = record(Configuration.getConfiguration("default").getSettings(),
+                () -> jwtUtil.verify(jwtUtil.generateToken("alice", 42L)));
+
+        assertTrue(events.stream().noneMatch(event -> event.getEventType().getName().startsWith("com.auth.")));
+    }
+
+    private static Map<String, String> shippedProfile() throws Exception {
+        try (Reader reader = new InputStreamReader(
+                AuthEventsTest.class.getResourceAsStream("/jfr/auth-service.jfc"), StandardCharsets.UTF_8)) {
+            return new HashMap<>(Configuration.create(reader).getSettings());
+        }
+    }
+
+    private List<RecordedEvent> record(Map<String, String> settings, Runnable work) throws Exception {
+        Path file = tempDir.resolve("events.jfr");
+        try (Recording recording = new Recording(settings)) {
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith("com.auth."))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .toList();
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+}
@@ -0,0 +1,60 @@
+package com.auth.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AccountLockout Tests")
+class AccountLockoutTest {
+
+    @Test
+    @DisplayName("Locks After Threshold And Doubles Per Further Failure")
+    void testProgressiveLockout() {
+        AccountLockout lockout = new AccountLockout(3, 10_000, 60_000, 3_600_000, 100);
+
+        lockout.recordFailure("testuser");
+        lockout.recordFailure("testuser");
+        assertEquals(0, lockout.lockedForMillis("testuser"));
+
+        lockout.recordFailure("testuser");
+        long first = lockout.lockedForMillis("testuser");
+        assertTrue(first > 9_000 && first <= 10_000, "First lock was " + first);
+
+        lockout.recordFailure("testuser");
+        long second = lockout.lockedForMillis("testuser");
+        assertTrue(second > 19_000 && second <= 20_000, "Second lock was " + second);
+
+        for (int i = 0; i < 10; i++) {
+            lockout.recordFailure("testuser");
+        }
+        assertTrue(lockout.lockedForMillis("testuser") <= 60_000);
+    }
+
+    @Test
+    @DisplayName("Successful Login Clears Failures")
+    void testSuccessResets() {
+        AccountLockout lockout = new AccountLockout(2, 10_000, 60_000, 3_600_000, 100);
+        lockout.recordFailure("testuser");
+        lockout.recordFailure("testuser");
+        assertTrue(lockout.lockedForMillis("testuser") > 0);
+
+        lockout.recordSuccess("testuser");
+
+        assertEquals(0, lockout.lockedForMillis("testuser"));
+        lockout.recordFailure("testuser");
+        assertEquals(0, lockout.lockedForMillis("testuser"));
+    }
+
+    @Test
+    @DisplayName("Old Failures Are Forgotten")
+    void testResetAfterQuietPeriod() throws InterruptedException {
+        AccountLockout lockout = new AccountLockout(2, 10_000, 60_000, 20, 100);
+        lockout.recordFailure("testuser");
+
+        Thread.sleep(40);
+        lockout.recordFailure("testuser");
+
+        assertEquals(0, lockout.lockedForMillis("testuser"));
+    }
+}
@@ -0,0 +1,22 @@
+package com.auth.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BCryptCostCalibrator Tests")
+class BCryptCostCalibratorTest {
+
+    @Test
+    @DisplayName("Zero Budget Stays At The Minimum Cost")
+    void testMinimumCost() {
+        assertEquals(4, BCryptCostCalibrator.calibrate(0, 4, 8));
+    }
+
+    @Test
+    @DisplayName("Generous Budget Is Capped At The Maximum Cost")
+    void testMaximumCost() {
+        assertEquals(6, BCryptCostCalibrator.calibrate(60_000, 4, 6));
+    }
+}
@@ -0,0 +1,102 @@
+package com.auth.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The server settings from application.yml on a real Tomcat: the address the rate limiters key on
+ * when a request arrives through a proxy. The test client connects from loopback, a trusted proxy.
+ */
+@SpringBootTest(classes = ForwardedClientIpTest.Config.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DisplayName("Forwarded client IP Tests")
+class ForwardedClientIpTest {
+
+    private static final List<String> seen = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        seen.clear();
+    }
+
+    @Test
+    void usesTheForwardedClientAddressFromATrustedProxy() {
+        post("203.0.113.7");
+
+        assertEquals(List.of("203.0.113.7"), seen);
+    }
+
+    @Test
+    void ignoresAddressesTheClientPrependedItself() {
+        // The proxy appends the address it saw; anything before that came from the client
+        post("198.51.100.1, 203.0.113.7");
+
+        assertEquals(List.of("203.0.113.7"), seen);
+    }
+
+    @Test
+    void usesTheConnectionAddressWithoutTheHeader() {
+        post(null);
+
+        assertEquals(1, seen.size());
+        assertEquals("127.0.0.1", seen.get(0));
+    }
+
+    private void post(String forwardedFor) {
+        HttpHeaders headers = new HttpHeaders();
+        if (forwardedFor != null) {
+            headers.add("X-Forwarded-For", forwardedFor);
+        }
+        restTemplate.exchange("/api/v1/login", HttpMethod.POST, new HttpEntity<>(headers), Void.class);
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({ServletWebServerFactoryAutoConfiguration.class,
+            EmbeddedWebServerFactoryCustomizerAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class, WebMvcAutoConfiguration.class})
+    static class Config implements WebMvcConfigurer {
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new RateLimitInterceptor(seen::add)).addPathPatterns("/api/v1/login");
+        }
+
+        @Bean
+        LoginStub loginStub() {
+            return new LoginStub();
+        }
+    }
+
+    @RestController
+    static class LoginStub {
+
+        @PostMapping("/api/v1/login")
+        void login() {
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.auth.security;
+
+import com.auth.util.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JwtAuthenticationFilter Tests")
+class JwtAuthenticationFilterTest {
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "test-secret-key-that-is-long-enough-for-hmac-sha-256-signing");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60_000L);
+        jwtUtil.init();
+        filter = new JwtAuthenticationFilter(jwtUtil);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Authentication filterWith(String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/profile");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        assertNotNull(chain.getRequest(), "Request should always continue down the chain");
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Test
+    @DisplayName("Valid Bearer Token Authenticates From Claims")
+    void testValidToken() throws Exception {
+        String token = jwtUtil.generateToken("testuser", 42L);
+
+        Authentication authentication = filterWith("Bearer " + token);
+
+        JwtAuthentication jwtAuthentication = assertInstanceOf(JwtAuthentication.class, authentication);
+        assertTrue(jwtAuthentication.isAuthenticated());
+        assertEquals("testuser", jwtAuthentication.getName());
+        assertEquals(42L, jwtAuthentication.getUserId());
+        assertNull(jwtAuthentication.getCredentials());
+    }
+
+    @Test
+    @DisplayName("Invalid Bearer Token Leaves Request Unauthenticated")
+    void testInvalidToken() throws Exception {
+        assertNull(filterWith("Bearer not-a-jwt"));
+    }
+
+    @Test
+    @DisplayName("Missing Or Non-Bearer Header Is Ignored")
+    void testNoBearerHeader() throws Exception {
+        assertNull(filterWith(null));
+        assertNull(filterWith("Basic dXNlcjpwYXNz"));
+    }
+
+    @Test
+    @DisplayName("Authentication Cannot Be Re-Marked As Authenticated")
+    void testSetAuthenticated() {
+        JwtAuthentication authentication = new JwtAuthentication(1L, "testuser");
+
+        assertThrows(IllegalArgumentException.class, () -> authentication.setAuthenticated(true));
+        authentication.setAuthenticated(false);
+        assertFalse(authentication.isAuthenticated());
+    }
+}
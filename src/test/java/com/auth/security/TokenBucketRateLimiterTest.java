@@ -0,0 +1,81 @@
+package com.auth.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TokenBucketRateLimiter Tests")
+class TokenBucketRateLimiterTest {
+
+    @Test
+    @DisplayName("Burst Up To Capacity Then Reject With Wait Time")
+    void testBurstThenReject() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 60, 100);
+
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+
+        long waitNanos = limiter.tryAcquire("10.0.0.1");
+        assertTrue(waitNanos > 0 && waitNanos <= TimeUnit.SECONDS.toNanos(1), "Wait was " + waitNanos);
+    }
+
+    @Test
+    @DisplayName("Keys Have Independent Buckets")
+    void testIndependentKeys() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 60, 100);
+
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.1") > 0);
+        assertEquals(0, limiter.tryAcquire("10.0.0.2"));
+    }
+
+    @Test
+    @DisplayName("Tokens Refill Over Time")
+    void testRefill() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1200, 100);  // one token per 50 ms
+
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.1") > 0);
+        Thread.sleep(60);
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+    }
+
+    @Test
+    @DisplayName("Concurrent Callers Never Exceed Capacity")
+    void testConcurrentAcquire() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(50, 1, 100);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 1_000; i++) {
+            executor.execute(() -> {
+                if (limiter.tryAcquire("shared") == 0) {
+                    granted.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(50, granted.get());
+    }
+
+    @Test
+    @DisplayName("Key Count Stays Within Bound")
+    void testBounded() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 100);
+
+        for (int i = 0; i < 1_000; i++) {
+            limiter.tryAcquire("10.0." + (i / 256) + "." + (i % 256));
+        }
+
+        assertTrue(limiter.size() <= 100);
+    }
+}
@@ -3,27 +3,45 @@ package com.auth.service;
 import com.auth.dto.AuthResponse;
 import com.auth.dto.LoginRequest;
 import com.auth.dto.SignupRequest;
+import com.auth.dto.UserCredentials;
+import com.auth.entity.EmailOutboxEntry;
 import com.auth.entity.User;
 import com.auth.entity.VerificationToken;
+import com.auth.exception.RateLimitExceededException;
+import com.auth.observability.AuthMetrics;
+import com.auth.observability.ServerTiming;
+import com.auth.repository.EmailOutboxRepository;
 import com.auth.repository.UserRepository;
 import com.auth.repository.VerificationTokenRepository;
+import com.auth.security.RateLimitService;
 import com.auth.util.JwtUtil;
+import com.auth.util.NegativeLookupCache;
+import com.auth.util.SplitToken;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.hibernate.exception.ConstraintViolationException;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,20 +55,41 @@ class AuthServiceTest {
     private VerificationTokenRepository tokenRepository;
 
     @Mock
-    private EmailService emailService;
+    private EmailOutboxRepository outboxRepository;
 
     @Mock
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private NegativeLookupCache negativeLookupCache;
+
+    @Mock
+    private RateLimitService rateLimitService;
+
+    @Mock
+    private PasswordRehashService passwordRehashService;
+
+    @Mock
+    private AvailabilityService availabilityService;
 
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private AuthMetrics metrics = new AuthMetrics(meterRegistry, new ServerTiming(false), true);
+
     @InjectMocks
     private AuthService authService;
 
     private SignupRequest signupRequest;
     private User user;
     private VerificationToken verificationToken;
+    private SplitToken splitToken;
 
     @BeforeEach
     void setUp() {
@@ -71,25 +110,28 @@ class AuthServiceTest {
                 .enabled(false)
                 .build();
 
+        splitToken = SplitToken.generate();
         verificationToken = VerificationToken.builder()
-                .id(1L)
+                .selector(splitToken.getSelector())
+                .validatorHash(splitToken.getValidatorHash())
                 .user(user)
-                .token(UUID.randomUUID().toString())
                 .expiresAt(LocalDateTime.now().plusHours(24))
                 .used(false)
                 .build();
     }
 
+    private static UserCredentials credentials(User user) {
+        return new UserCredentials(user.getId(), user.getUsername(), user.getEmail(),
+                user.getPasswordHash(), user.getEnabled());
+    }
+
     @Test
     @DisplayName("Signup - Success")
     void testSignup_Success() {
         // Given
-        when(userRepository.existsByUsernameIgnoreCase(anyString())).thenReturn(false);
-        when(userRepository.existsByEmailIgnoreCase(anyString())).thenReturn(false);
-        when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$encoded");
+        when(passwordHashingService.encode(anyString())).thenReturn("$2a$10$encoded");
         when(userRepository.save(any(User.class))).thenReturn(user);
         when(tokenRepository.save(any(VerificationToken.class))).thenReturn(verificationToken);
-        doNothing().when(emailService).sendVerificationEmail(anyString(), anyString(), anyString());
 
         // When
         AuthResponse response = authService.signup(signupRequest);
@@ -100,39 +142,109 @@ class AuthServiceTest {
         assertEquals("test@example.com", response.getEmail());
         assertTrue(response.getMessage().contains("successful"));
         
-        verify(userRepository, times(1)).existsByUsernameIgnoreCase(anyString());
-        verify(userRepository, times(1)).existsByEmailIgnoreCase(anyString());
         verify(userRepository, times(1)).save(any(User.class));
         verify(tokenRepository, times(1)).save(any(VerificationToken.class));
-        verify(emailService, times(1)).sendVerificationEmail(anyString(), anyString(), anyString());
+        verify(outboxRepository, times(1)).save(any(EmailOutboxEntry.class));
+        verify(negativeLookupCache, times(1)).invalidate("testuser", "test@example.com");
+        verify(availabilityService, times(1)).recordTaken("testuser", "test@example.com");
+    }
+
+    @Test
+    @DisplayName("Signup - Hashing Before Transaction, Email Queued Inside It")
+    void testSignup_PhasesOutsideTransaction() {
+        // Given
+        when(passwordHashingService.encode(anyString())).thenReturn("$2a$10$encoded");
+        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(tokenRepository.save(any(VerificationToken.class))).thenReturn(verificationToken);
+
+        // When
+        authService.signup(signupRequest);
+
+        // Then - bcrypt runs before the transaction opens, the email is queued within it
+        InOrder inOrder = inOrder(passwordHashingService, transactionManager, userRepository, tokenRepository, outboxRepository);
+        inOrder.verify(passwordHashingService).encode("password123");
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(userRepository).save(any(User.class));
+        inOrder.verify(tokenRepository).save(any(VerificationToken.class));
+        inOrder.verify(outboxRepository).save(any(EmailOutboxEntry.class));
+        inOrder.verify(outboxRepository).flush();
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    private static DataIntegrityViolationException duplicateKey(String constraintName) {
+        SQLIntegrityConstraintViolationException sqlException = new SQLIntegrityConstraintViolationException(
+                "Duplicate entry 'x' for key '" + constraintName + "'", "23000", 1062);
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", sqlException, constraintName));
     }
 
     @Test
     @DisplayName("Signup - Username Already Exists")
     void testSignup_UsernameAlreadyExists() {
-        // Given
-        when(userRepository.existsByUsernameIgnoreCase(anyString())).thenReturn(true);
+        // Given - the batched INSERTs hit the unique key when flushed, no pre-check query runs
+        when(passwordHashingService.encode(anyString())).thenReturn("$2a$10$encoded");
+        when(userRepository.save(any(User.class))).thenReturn(user);
+        doThrow(duplicateKey("users.uk_users_username")).when(outboxRepository).flush();
 
         // When & Then
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
                 () -> authService.signup(signupRequest));
         assertEquals("Username already exists. Please choose a different username.", exception.getMessage());
-        verify(userRepository, never()).save(any(User.class));
-        verify(tokenRepository, never()).save(any(VerificationToken.class));
+        verify(transactionManager, never()).commit(any());
+        verify(negativeLookupCache, never()).invalidate(any(String[].class));
     }
 
     @Test
     @DisplayName("Signup - Email Already Exists")
     void testSignup_EmailAlreadyExists() {
         // Given
-        when(userRepository.existsByUsernameIgnoreCase(anyString())).thenReturn(false);
-        when(userRepository.existsByEmailIgnoreCase(anyString())).thenReturn(true);
+        when(passwordHashingService.encode(anyString())).thenReturn("$2a$10$encoded");
+        when(userRepository.save(any(User.class))).thenThrow(duplicateKey("users.uk_users_email"));
 
         // When & Then
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
                 () -> authService.signup(signupRequest));
         assertEquals("Email already exists. Please use a different email address.", exception.getMessage());
-        verify(userRepository, never()).save(any(User.class));
+        verify(tokenRepository, never()).save(any(VerificationToken.class));
+    }
+
+    @Test
+    @DisplayName("Signup - Duplicate Key Recognised From The Driver Message")
+    void testSignup_DuplicateFromMessage() {
+        // Given - no constraint name extracted, only the MySQL error text
+        when(passwordHashingService.encode(anyString())).thenReturn("$2a$10$encoded");
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException("Duplicate entry 'test@example.com' for key 'users.uk_users_email'")));
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> authService.signup(signupRequest));
+        assertEquals("Email already exists. Please use a different email address.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Signup - Other Integrity Violations Are Not Reported As Duplicates")
+    void testSignup_OtherIntegrityViolation() {
+        // Given
+        when(passwordHashingService.encode(anyString())).thenReturn("$2a$10$encoded");
+        DataIntegrityViolationException violation = duplicateKey("fk_something_else");
+        when(userRepository.save(any(User.class))).thenThrow(violation);
+
+        // When & Then
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class, () -> authService.signup(signupRequest)));
+    }
+
+    @Test
+    @DisplayName("Signup - A Clashing Primary Key Is Not Reported As A Taken Name")
+    void testSignup_DuplicatePrimaryKey() {
+        // Given - the duplicated id is in the message, but the key is PRIMARY
+        when(passwordHashingService.encode(anyString())).thenReturn("$2a$10$encoded");
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException("Duplicate entry '4611686018427387904' for key 'users.PRIMARY'"));
+        when(userRepository.save(any(User.class))).thenThrow(violation);
+
+        // When & Then
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class, () -> authService.signup(signupRequest)));
     }
 
     @Test
@@ -145,7 +257,7 @@ class AuthServiceTest {
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
                 () -> authService.signup(signupRequest));
         assertEquals("Username cannot be null or empty", exception.getMessage());
-        verify(userRepository, never()).existsByUsernameIgnoreCase(anyString());
+        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
@@ -173,58 +285,57 @@ class AuthServiceTest {
     }
 
     @Test
-    @DisplayName("Signup - Email Service Failure (Non-blocking)")
-    void testSignup_EmailServiceFailure() {
+    @DisplayName("Signup - Verification Email Queued For The New User")
+    void testSignup_VerificationEmailQueued() {
         // Given
-        when(userRepository.existsByUsernameIgnoreCase(anyString())).thenReturn(false);
-        when(userRepository.existsByEmailIgnoreCase(anyString())).thenReturn(false);
-        when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$encoded");
+        when(passwordHashingService.encode(anyString())).thenReturn("$2a$10$encoded");
         when(userRepository.save(any(User.class))).thenReturn(user);
         when(tokenRepository.save(any(VerificationToken.class))).thenReturn(verificationToken);
-        doThrow(new RuntimeException("SMTP error")).when(emailService).sendVerificationEmail(anyString(), anyString(), anyString());
 
-        // When - Email service now catches exceptions, so signup should succeed
+        // When - no SMTP call happens on the request thread
         AuthResponse response = authService.signup(signupRequest);
 
-        // Then - Signup succeeds even if email fails
-        assertNotNull(response);
-        assertEquals("testuser", response.getUsername());
-        assertEquals("test@example.com", response.getEmail());
+        // Then - the outbox entry carries the same token that was stored for verification
         assertTrue(response.getMessage().contains("successful"));
-        
-        // Verify email service was called (even though it failed)
-        verify(emailService, times(1)).sendVerificationEmail(anyString(), anyString(), anyString());
+        ArgumentCaptor<VerificationToken> tokenCaptor = ArgumentCaptor.forClass(VerificationToken.class);
+        ArgumentCaptor<EmailOutboxEntry> entryCaptor = ArgumentCaptor.forClass(EmailOutboxEntry.class);
+        verify(tokenRepository).save(tokenCaptor.capture());
+        verify(outboxRepository).save(entryCaptor.capture());
+        EmailOutboxEntry entry = entryCaptor.getValue();
+        assertEquals("test@example.com", entry.getRecipient());
+        assertEquals("testuser", entry.getUsername());
+        SplitToken sent = SplitToken.parse(entry.getToken()).orElseThrow();
+        assertEquals(tokenCaptor.getValue().getSelector(), sent.getSelector());
+        assertTrue(sent.matches(tokenCaptor.getValue().getValidatorHash()));
+        assertEquals(EmailOutboxEntry.Status.PENDING, entry.getStatus());
     }
 
     @Test
     @DisplayName("Verify Email - Success")
     void testVerifyEmail_Success() {
         // Given
-        String token = verificationToken.getToken();
-        when(tokenRepository.findByTokenAndUsedFalse(token)).thenReturn(Optional.of(verificationToken));
-        when(userRepository.save(any(User.class))).thenReturn(user);
-        when(tokenRepository.save(any(VerificationToken.class))).thenReturn(verificationToken);
+        String token = splitToken.toString();
+        when(tokenRepository.consumeAndEnableUser(eq(splitToken.getSelectorBytes()),
+                eq(splitToken.getValidatorHash()), any(LocalDateTime.class))).thenReturn(2);
 
         // When
         AuthResponse response = authService.verifyEmail(token);
 
-        // Then
+        // Then - one conditional UPDATE, no entity loads or saves
         assertNotNull(response);
         assertTrue(response.getMessage().contains("verified"));
-        assertTrue(user.getEnabled());
-        assertTrue(verificationToken.getUsed());
-        
-        verify(tokenRepository, times(1)).findByTokenAndUsedFalse(token);
-        verify(userRepository, times(1)).save(any(User.class));
-        verify(tokenRepository, times(1)).save(any(VerificationToken.class));
+        verify(tokenRepository, times(1)).consumeAndEnableUser(any(), any(), any());
+        verify(tokenRepository, never()).findById(any());
+        verify(tokenRepository, never()).save(any(VerificationToken.class));
+        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
     @DisplayName("Verify Email - Token Not Found")
     void testVerifyEmail_TokenNotFound() {
         // Given
-        String token = "invalid-token";
-        when(tokenRepository.findByTokenAndUsedFalse(token)).thenReturn(Optional.empty());
+        String token = SplitToken.generate().toString();
+        when(tokenRepository.findById(any())).thenReturn(Optional.empty());
 
         // When & Then
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
@@ -233,6 +344,30 @@ class AuthServiceTest {
         verify(userRepository, never()).save(any(User.class));
     }
 
+    @Test
+    @DisplayName("Verify Email - Wrong Validator For A Known Selector")
+    void testVerifyEmail_WrongValidator() {
+        // Given - same selector, different validator
+        String forged = splitToken.toString().substring(0, 23) + SplitToken.generate().toString().substring(23);
+        when(tokenRepository.findById(splitToken.getSelector())).thenReturn(Optional.of(verificationToken));
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> authService.verifyEmail(forged));
+        assertTrue(exception.getMessage().contains("Invalid or expired verification token"));
+        assertFalse(verificationToken.getUsed());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Verify Email - Malformed Token Skips The Database")
+    void testVerifyEmail_MalformedToken() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> authService.verifyEmail("invalid-token"));
+        verify(tokenRepository, never()).consumeAndEnableUser(any(), any(), any());
+        verify(tokenRepository, never()).findById(any());
+    }
+
     @Test
     @DisplayName("Verify Email - Null Token")
     void testVerifyEmail_NullToken() {
@@ -240,7 +375,7 @@ class AuthServiceTest {
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
                 () -> authService.verifyEmail(null));
         assertEquals("Verification token is required", exception.getMessage());
-        verify(tokenRepository, never()).findByTokenAndUsedFalse(anyString());
+        verify(tokenRepository, never()).findById(any());
     }
 
     @Test
@@ -256,9 +391,9 @@ class AuthServiceTest {
     @DisplayName("Verify Email - Expired Token")
     void testVerifyEmail_ExpiredToken() {
         // Given
-        String token = verificationToken.getToken();
+        String token = splitToken.toString();
         verificationToken.setExpiresAt(LocalDateTime.now().minusHours(1));
-        when(tokenRepository.findByTokenAndUsedFalse(token)).thenReturn(Optional.of(verificationToken));
+        when(tokenRepository.findById(splitToken.getSelector())).thenReturn(Optional.of(verificationToken));
 
         // When & Then
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
@@ -271,9 +406,9 @@ class AuthServiceTest {
     @DisplayName("Verify Email - Already Used Token")
     void testVerifyEmail_AlreadyUsedToken() {
         // Given
-        String token = verificationToken.getToken();
+        String token = splitToken.toString();
         verificationToken.setUsed(true);
-        when(tokenRepository.findByTokenAndUsedFalse(token)).thenReturn(Optional.empty());
+        when(tokenRepository.findById(splitToken.getSelector())).thenReturn(Optional.of(verificationToken));
 
         // When & Then
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
@@ -286,9 +421,9 @@ class AuthServiceTest {
     @DisplayName("Verify Email - User Already Enabled")
     void testVerifyEmail_UserAlreadyEnabled() {
         // Given
-        String token = verificationToken.getToken();
+        String token = splitToken.toString();
         user.setEnabled(true);
-        when(tokenRepository.findByTokenAndUsedFalse(token)).thenReturn(Optional.of(verificationToken));
+        when(tokenRepository.findById(splitToken.getSelector())).thenReturn(Optional.of(verificationToken));
         when(tokenRepository.save(any(VerificationToken.class))).thenReturn(verificationToken);
 
         // When
@@ -310,8 +445,8 @@ class AuthServiceTest {
         loginRequest.setPassword("password123");
 
         user.setEnabled(true);
-        when(userRepository.findByUsernameIgnoreCase("testuser")).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("password123", user.getPasswordHash())).thenReturn(true);
+        when(userRepository.findCredentialsByUsername("testuser")).thenReturn(Optional.of(credentials(user)));
+        when(passwordHashingService.matches("password123", user.getPasswordHash())).thenReturn(true);
         when(jwtUtil.generateToken("testuser", 1L)).thenReturn("jwt-token");
 
         // When
@@ -323,9 +458,36 @@ class AuthServiceTest {
         assertEquals("testuser", response.getUsername());
         assertTrue(response.getMessage().contains("successful"));
         
-        verify(userRepository, times(1)).findByUsernameIgnoreCase("testuser");
-        verify(passwordEncoder, times(1)).matches("password123", user.getPasswordHash());
+        verify(userRepository, times(1)).findCredentialsByUsername("testuser");
+        verify(passwordHashingService, times(1)).matches("password123", user.getPasswordHash());
         verify(jwtUtil, times(1)).generateToken("testuser", 1L);
+        verify(rateLimitService, times(1)).checkLoginAccount("testuser");
+        verify(rateLimitService, times(1)).recordLoginSuccess("testuser");
+        verify(passwordRehashService, never()).schedule(any(), anyString(), anyString());
+        assertEquals(1, operations("login", "success"));
+        assertEquals(1, meterRegistry.get("auth.phase").tag("phase", "password-verify").timer().count());
+    }
+
+    @Test
+    @DisplayName("Login - Outdated hash is scheduled for rehash")
+    void testLogin_OutdatedHashScheduledForRehash() {
+        // Given
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsernameOrEmail("testuser");
+        loginRequest.setPassword("password123");
+
+        user.setEnabled(true);
+        when(userRepository.findCredentialsByUsername("testuser")).thenReturn(Optional.of(credentials(user)));
+        when(passwordHashingService.matches("password123", user.getPasswordHash())).thenReturn(true);
+        when(passwordHashingService.needsRehash(user.getPasswordHash())).thenReturn(true);
+        when(jwtUtil.generateToken("testuser", 1L)).thenReturn("jwt-token");
+
+        // When
+        AuthResponse response = authService.login(loginRequest);
+
+        // Then
+        assertEquals("jwt-token", response.getToken());
+        verify(passwordRehashService, times(1)).schedule(1L, "password123", user.getPasswordHash());
     }
 
     @Test
@@ -337,9 +499,8 @@ class AuthServiceTest {
         loginRequest.setPassword("password123");
 
         user.setEnabled(true);
-        when(userRepository.findByUsernameIgnoreCase("test@example.com")).thenReturn(Optional.empty());
-        when(userRepository.findByEmailIgnoreCase("test@example.com")).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("password123", user.getPasswordHash())).thenReturn(true);
+        when(userRepository.findCredentialsByEmailOrUsername("test@example.com", "test@example.com")).thenReturn(List.of(credentials(user)));
+        when(passwordHashingService.matches("password123", user.getPasswordHash())).thenReturn(true);
         when(jwtUtil.generateToken("testuser", 1L)).thenReturn("jwt-token");
 
         // When
@@ -348,7 +509,35 @@ class AuthServiceTest {
         // Then
         assertNotNull(response);
         assertEquals("jwt-token", response.getToken());
-        verify(userRepository, times(1)).findByEmailIgnoreCase("test@example.com");
+        verify(userRepository, times(1)).findCredentialsByEmailOrUsername("test@example.com", "test@example.com");
+        verify(userRepository, never()).findCredentialsByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("Login - Email Match Preferred Over Username Containing @")
+    void testLogin_EmailPreferredOverUsername() {
+        // Given - another account chose this email address as its username
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsernameOrEmail("test@example.com");
+        loginRequest.setPassword("password123");
+
+        User squatter = User.builder()
+                .id(2L)
+                .username("test@example.com")
+                .email("other@example.com")
+                .passwordHash("$2a$10$otherhash")
+                .enabled(true)
+                .build();
+        user.setEnabled(true);
+        when(userRepository.findCredentialsByEmailOrUsername("test@example.com", "test@example.com")).thenReturn(List.of(credentials(squatter), credentials(user)));
+        when(passwordHashingService.matches("password123", user.getPasswordHash())).thenReturn(true);
+        when(jwtUtil.generateToken("testuser", 1L)).thenReturn("jwt-token");
+
+        // When
+        AuthResponse response = authService.login(loginRequest);
+
+        // Then
+        assertEquals("testuser", response.getUsername());
     }
 
     @Test
@@ -360,14 +549,15 @@ class AuthServiceTest {
         loginRequest.setPassword("password123");
 
         user.setEnabled(false);
-        when(userRepository.findByUsernameIgnoreCase("testuser")).thenReturn(Optional.of(user));
+        when(userRepository.findCredentialsByUsername("testuser")).thenReturn(Optional.of(credentials(user)));
 
         // When & Then
         IllegalStateException exception = assertThrows(IllegalStateException.class, 
                 () -> authService.login(loginRequest));
         assertEquals("Account not activated. Please verify your email first.", exception.getMessage());
-        verify(passwordEncoder, never()).matches(anyString(), anyString());
+        verify(passwordHashingService, never()).matches(anyString(), anyString());
         verify(jwtUtil, never()).generateToken(anyString(), anyLong());
+        assertEquals(1, operations("login", "forbidden"));
     }
 
     @Test
@@ -379,14 +569,34 @@ class AuthServiceTest {
         loginRequest.setPassword("wrongpassword");
 
         user.setEnabled(true);
-        when(userRepository.findByUsernameIgnoreCase("testuser")).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("wrongpassword", user.getPasswordHash())).thenReturn(false);
+        when(userRepository.findCredentialsByUsername("testuser")).thenReturn(Optional.of(credentials(user)));
+        when(passwordHashingService.matches("wrongpassword", user.getPasswordHash())).thenReturn(false);
 
         // When & Then
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
                 () -> authService.login(loginRequest));
         assertEquals("Invalid username/email or password", exception.getMessage());
         verify(jwtUtil, never()).generateToken(anyString(), anyLong());
+        verify(rateLimitService, times(1)).recordLoginFailure("testuser");
+        assertEquals(1, operations("login", "rejected"));
+        assertEquals(0, operations("login", "success"));
+    }
+
+    @Test
+    @DisplayName("Login - Locked Or Throttled Account Rejected Before Any Work")
+    void testLogin_AccountRateLimited() {
+        // Given
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsernameOrEmail("testuser");
+        loginRequest.setPassword("password123");
+
+        doThrow(new RateLimitExceededException("Account temporarily locked after repeated failed logins", 30))
+                .when(rateLimitService).checkLoginAccount("testuser");
+
+        // When & Then
+        assertThrows(RateLimitExceededException.class, () -> authService.login(loginRequest));
+        verifyNoInteractions(userRepository, negativeLookupCache, passwordHashingService);
+        assertEquals(1, operations("login", "rate-limited"));
     }
 
     @Test
@@ -397,14 +607,34 @@ class AuthServiceTest {
         loginRequest.setUsernameOrEmail("nonexistent");
         loginRequest.setPassword("password123");
 
-        when(userRepository.findByUsernameIgnoreCase("nonexistent")).thenReturn(Optional.empty());
-        when(userRepository.findByEmailIgnoreCase("nonexistent")).thenReturn(Optional.empty());
+        when(userRepository.findCredentialsByUsername("nonexistent")).thenReturn(Optional.empty());
 
         // When & Then
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
                 () -> authService.login(loginRequest));
         assertEquals("Invalid username/email or password", exception.getMessage());
-        verify(passwordEncoder, never()).matches(anyString(), anyString());
+        verify(userRepository, never()).findCredentialsByEmailOrUsername(anyString(), anyString());
+        verify(passwordHashingService, never()).matches(anyString(), anyString());
+        verify(passwordHashingService, times(1)).matchesDummy("password123");
+        verify(negativeLookupCache, times(1)).recordMiss("nonexistent", 0L);
+    }
+
+    @Test
+    @DisplayName("Login - Recently Missed Identifier Skips Database")
+    void testLogin_KnownMissSkipsDatabase() {
+        // Given
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsernameOrEmail("nonexistent");
+        loginRequest.setPassword("password123");
+
+        when(negativeLookupCache.isKnownMiss("nonexistent")).thenReturn(true);
+
+        // When & Then - same error and same bcrypt work, but no query
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> authService.login(loginRequest));
+        assertEquals("Invalid username/email or password", exception.getMessage());
+        verifyNoInteractions(userRepository);
+        verify(passwordHashingService, times(1)).matchesDummy("password123");
     }
 
     @Test
@@ -419,7 +649,7 @@ class AuthServiceTest {
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
                 () -> authService.login(loginRequest));
         assertEquals("Username or email is required", exception.getMessage());
-        verify(userRepository, never()).findByUsernameIgnoreCase(anyString());
+        verify(userRepository, never()).findCredentialsByUsername(anyString());
     }
 
     @Test
@@ -448,7 +678,7 @@ class AuthServiceTest {
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
                 () -> authService.login(loginRequest));
         assertEquals("Password is required", exception.getMessage());
-        verify(userRepository, never()).findByUsernameIgnoreCase(anyString());
+        verify(userRepository, never()).findCredentialsByUsername(anyString());
     }
 
     @Test
@@ -474,8 +704,8 @@ class AuthServiceTest {
         loginRequest.setPassword("password123");
 
         user.setEnabled(true);
-        when(userRepository.findByUsernameIgnoreCase("TESTUSER")).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("password123", user.getPasswordHash())).thenReturn(true);
+        when(userRepository.findCredentialsByUsername("TESTUSER")).thenReturn(Optional.of(credentials(user)));
+        when(passwordHashingService.matches("password123", user.getPasswordHash())).thenReturn(true);
         when(jwtUtil.generateToken("testuser", 1L)).thenReturn("jwt-token");
 
         // When
@@ -485,4 +715,11 @@ class AuthServiceTest {
         assertNotNull(response);
         assertEquals("jwt-token", response.getToken());
     }
+
+    private long operations(String operation, String outcome) {
+        Timer timer = meterRegistry.find("auth.operation")
+                .tags("operation", operation, "outcome", outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
 }
@@ -0,0 +1,112 @@
+package com.auth.service;
+
+import com.auth.repository.UserRepository;
+import com.auth.util.SnowflakeIdGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("AvailabilityService Tests")
+class AvailabilityServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private AvailabilityService service;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(50), email VARCHAR(100))");
+        for (long id = 1; id <= 25; id++) {
+            jdbcTemplate.update("INSERT INTO users VALUES (?, ?, ?)", id, "user" + id, "user" + id + "@example.com");
+        }
+        // Scan in batches of 10 to cover the keyset continuation
+        service = new AvailabilityService(userRepository, jdbcTemplate, meterRegistry, true, 1000, 0.01, 10, 5000, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private double checks(String result) {
+        return meterRegistry.get("auth.availability.checks").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("Before The Filter Is Built Every Check Goes To The Database")
+    void testNotReady() {
+        when(userRepository.existsByUsername("user1")).thenReturn(true);
+
+        assertFalse(service.isUsernameAvailable("user1"));
+        verify(userRepository).existsByUsername("user1");
+    }
+
+    @Test
+    @DisplayName("Unknown Names Are Free Without A Query")
+    void testDefinitelyFree() {
+        service.rebuild();
+
+        assertTrue(service.isReady());
+        assertTrue(service.isUsernameAvailable("somebody-new"));
+        assertTrue(service.isEmailAvailable("new@example.com"));
+        verifyNoInteractions(userRepository);
+        assertEquals(2.0, checks("filter-free"));
+    }
+
+    @Test
+    @DisplayName("Probable Hits Are Confirmed Against The Database")
+    void testProbableHitConfirmed() {
+        service.rebuild();
+        when(userRepository.existsByUsername("USER25")).thenReturn(true);
+        when(userRepository.existsByEmail("user3@example.com")).thenReturn(false);
+
+        // Case differences are the same account under the table collation
+        assertFalse(service.isUsernameAvailable("USER25"));
+        // Still set in the filter, but deleted since - the database has the last word
+        assertTrue(service.isEmailAvailable("user3@example.com"));
+        assertEquals(1.0, checks("taken"));
+        assertEquals(1.0, checks("false-positive"));
+    }
+
+    @Test
+    @DisplayName("New Signups Are Added To The Filter")
+    void testRecordTaken() {
+        service.rebuild();
+        when(userRepository.existsByUsername(anyString())).thenReturn(true);
+
+        service.recordTaken("José", "jose@example.com");
+
+        assertFalse(service.isUsernameAvailable("jose"));
+        verify(userRepository).existsByUsername("jose");
+    }
+
+    @Test
+    @DisplayName("Signups On Other Instances Are Picked Up By The Catch-Up Scan")
+    void testCatchUp() {
+        service.rebuild();
+        long id = new SnowflakeIdGenerator(3).nextId();
+        jdbcTemplate.update("INSERT INTO users VALUES (?, ?, ?)", id, "elsewhere", "elsewhere@example.com");
+        when(userRepository.existsByUsername("elsewhere")).thenReturn(true);
+
+        assertTrue(service.isUsernameAvailable("elsewhere"));
+
+        service.catchUp();
+
+        assertFalse(service.isUsernameAvailable("elsewhere"));
+        verify(userRepository).existsByUsername("elsewhere");
+    }
+}
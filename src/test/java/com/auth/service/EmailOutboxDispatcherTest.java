@@ -0,0 +1,122 @@
+package com.auth.service;
+
+import com.auth.entity.EmailOutboxEntry;
+import com.auth.repository.EmailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmailOutboxDispatcher Tests")
+class EmailOutboxDispatcherTest {
+
+    @Mock
+    private EmailOutboxRepository outboxRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 20);
+        ReflectionTestUtils.setField(dispatcher, "leaseSeconds", 120L);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "initialBackoffSeconds", 30L);
+        ReflectionTestUtils.setField(dispatcher, "maxBackoffSeconds", 3600L);
+    }
+
+    private static EmailOutboxEntry entry(long id, int attempts) {
+        return EmailOutboxEntry.builder()
+                .id(id)
+                .recipient("user" + id + "@example.com")
+                .username("user" + id)
+                .token("token-" + id)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Dispatch - Nothing Due")
+    void testDispatch_NothingDue() {
+        when(outboxRepository.lockDue(any(LocalDateTime.class), eq(20))).thenReturn(List.of());
+
+        assertEquals(0, dispatcher.dispatchBatch());
+
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    @DisplayName("Dispatch - Claimed Entries Are Leased And Marked Sent")
+    void testDispatch_Success() {
+        EmailOutboxEntry first = entry(1L, 0);
+        EmailOutboxEntry second = entry(2L, 0);
+        when(outboxRepository.lockDue(any(LocalDateTime.class), eq(20))).thenReturn(List.of(first, second));
+        when(emailService.sendVerificationEmails(anyList())).thenReturn(Map.of());
+
+        assertEquals(2, dispatcher.dispatchBatch());
+
+        assertEquals(1, first.getAttempts());
+        assertTrue(first.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(60)));
+        verify(outboxRepository).markSent(eq(List.of(1L, 2L)), eq(EmailOutboxEntry.Status.SENT), any(LocalDateTime.class));
+        verify(outboxRepository, never()).recordFailure(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Dispatch - Failed Entry Is Rescheduled With Backoff")
+    void testDispatch_FailureRetried() {
+        EmailOutboxEntry ok = entry(1L, 0);
+        EmailOutboxEntry failing = entry(2L, 1);
+        when(outboxRepository.lockDue(any(LocalDateTime.class), eq(20))).thenReturn(List.of(ok, failing));
+        when(emailService.sendVerificationEmails(anyList())).thenReturn(Map.of(2L, "Connection refused"));
+
+        dispatcher.dispatchBatch();
+
+        verify(outboxRepository).markSent(eq(List.of(1L)), eq(EmailOutboxEntry.Status.SENT), any(LocalDateTime.class));
+        verify(outboxRepository).recordFailure(eq(2L), eq(EmailOutboxEntry.Status.PENDING),
+                argThat(retryAt -> retryAt.isAfter(LocalDateTime.now().plusSeconds(50))), eq("Connection refused"));
+    }
+
+    @Test
+    @DisplayName("Dispatch - Entry Given Up After Max Attempts")
+    void testDispatch_MaxAttemptsReached() {
+        EmailOutboxEntry failing = entry(1L, 2);
+        when(outboxRepository.lockDue(any(LocalDateTime.class), eq(20))).thenReturn(List.of(failing));
+        when(emailService.sendVerificationEmails(anyList())).thenReturn(Map.of(1L, "Mailbox unavailable"));
+
+        dispatcher.dispatchBatch();
+
+        verify(outboxRepository).markFailed(1L, EmailOutboxEntry.Status.FAILED, "Mailbox unavailable");
+        verify(outboxRepository, never()).recordFailure(anyLong(), any(), any(), any());
+        verify(outboxRepository, never()).markSent(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Backoff - Doubles Per Attempt Up To The Cap")
+    void testBackoff() {
+        assertEquals(30, dispatcher.backoffSeconds(1));
+        assertEquals(60, dispatcher.backoffSeconds(2));
+        assertEquals(240, dispatcher.backoffSeconds(4));
+        assertEquals(3600, dispatcher.backoffSeconds(20));
+    }
+}
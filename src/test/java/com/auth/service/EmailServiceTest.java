@@ -1,15 +1,32 @@
 package com.auth.service;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.auth.entity.EmailOutboxEntry;
+import com.auth.observability.AuthMetrics;
+import com.auth.observability.ServerTiming;
+import com.auth.util.SplitToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -19,6 +36,11 @@ class EmailServiceTest {
     @Mock
     private JavaMailSender mailSender;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private AuthMetrics metrics = new AuthMetrics(meterRegistry, new ServerTiming(false), true);
+
     @InjectMocks
     private EmailService emailService;
 
@@ -29,66 +51,116 @@ class EmailServiceTest {
         ReflectionTestUtils.setField(emailService, "emailEnabled", true);  // Enable email for tests
     }
 
+    private static EmailOutboxEntry entry(long id, String toEmail) {
+        return EmailOutboxEntry.builder()
+                .id(id)
+                .recipient(toEmail)
+                .username("userauthtest")
+                .token("rewylyqamrdllsht")
+                .build();
+    }
+
     @Test
-    void testSendVerificationEmail_Success() {
+    void testSendVerificationEmails_Success() {
         // Given
-        String toEmail = "sudhakar.reddy@harman.com";
-        String username = "userauthtest";
-        String token = "rewylyqamrdllsht";
-        doNothing().when(mailSender).send(any(SimpleMailMessage.class));
+        List<EmailOutboxEntry> entries = List.of(
+                entry(1L, "sudhakar.reddy@harman.com"), entry(2L, "userauth121@gmail.com"));
 
         // When
-        emailService.sendVerificationEmail(toEmail, username, token);
+        Map<Long, String> failures = emailService.sendVerificationEmails(entries);
+
+        // Then - both messages go out in one send call
+        assertTrue(failures.isEmpty());
+        ArgumentCaptor<SimpleMailMessage[]> captor = ArgumentCaptor.forClass(SimpleMailMessage[].class);
+        verify(mailSender, times(1)).send(captor.capture());
+        assertEquals(2, captor.getValue().length);
+        assertTrue(captor.getValue()[0].getText().contains("/api/v1/verify?token=rewylyqamrdllsht"));
+    }
+
+    @Test
+    void testSendVerificationEmails_Failure() {
+        // Given
+        doThrow(new MailSendException("Mail server error")).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        // When - failures are reported back instead of being swallowed
+        Map<Long, String> failures = emailService.sendVerificationEmails(List.of(entry(1L, "userauth121@gmail.com")));
 
         // Then
-        verify(mailSender, times(1)).send(any(SimpleMailMessage.class));
+        assertEquals(Map.of(1L, "Mail server error"), failures);
+        assertEquals(1, meterRegistry.get("auth.operation")
+                .tags("operation", "send-email", "outcome", "failed").timer().count());
     }
 
     @Test
-    void testSendVerificationEmail_Failure() {
-        // Given
-        String toEmail = "userauth121@gmail.com";
-        String username = "userauthtest";
-        String token = "rewylyqamrdllsht";
-        doThrow(new RuntimeException("Mail server error")).when(mailSender).send(any(SimpleMailMessage.class));
+    void testSendVerificationEmails_PartialFailure() {
+        // Given - the server rejects only the second recipient
+        doAnswer(invocation -> {
+            SimpleMailMessage[] messages = (SimpleMailMessage[]) invocation.getRawArguments()[0];
+            assertEquals("bounce@example.com", messages[1].getTo()[0]);
+            throw new MailSendException(Map.<Object, Exception>of(messages[1], new RuntimeException("Mailbox unavailable")));
+        }).when(mailSender).send(any(SimpleMailMessage[].class));
 
-        // When - Email service now catches exceptions and doesn't throw
-        emailService.sendVerificationEmail(toEmail, username, token);
+        // When
+        Map<Long, String> failures = emailService.sendVerificationEmails(List.of(
+                entry(1L, "ok@example.com"), entry(2L, "bounce@example.com")));
 
-        // Then - Verify send was attempted (even though it failed)
-        verify(mailSender, times(1)).send(any(SimpleMailMessage.class));
+        // Then
+        assertEquals(Map.of(2L, "Mailbox unavailable"), failures);
     }
 
     @Test
-    void testSendVerificationEmail_WhenEmailDisabled() {
+    void testSendVerificationEmails_WhenEmailDisabled() {
         // Given
         ReflectionTestUtils.setField(emailService, "emailEnabled", false);
-        String toEmail = "userauth121@gmail.com";
-        String username = "userauthtest";
-        String token = "rewylyqamrdllsht";
 
         // When
-        emailService.sendVerificationEmail(toEmail, username, token);
+        Map<Long, String> failures = emailService.sendVerificationEmails(List.of(entry(1L, "userauth121@gmail.com")));
 
         // Then - Email should not be sent when disabled
-        verify(mailSender, never()).send(any(SimpleMailMessage.class));
+        assertTrue(failures.isEmpty());
+        verify(mailSender, never()).send(any(SimpleMailMessage[].class));
     }
 
     @Test
-    void testSendVerificationEmail_AuthenticationFailure() {
+    void testSendVerificationEmails_WhenEmailDisabled_LogsOnlyTheSelector() {
         // Given
-        String toEmail = "userauth121@gmail.com";
-        String username = "userauthtest";
-        String token = "rewylyqamrdllsht";
-        org.springframework.mail.MailAuthenticationException authException = 
+        ReflectionTestUtils.setField(emailService, "emailEnabled", false);
+        SplitToken token = SplitToken.generate();
+        EmailOutboxEntry entry = entry(1L, "userauth121@gmail.com");
+        entry.setToken(token.toString());
+        Logger logger = (Logger) LoggerFactory.getLogger(EmailService.class);
+        Level level = logger.getLevel();
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        logger.setLevel(Level.DEBUG);
+
+        // When
+        try {
+            emailService.sendVerificationEmails(List.of(entry));
+        } finally {
+            logger.detachAppender(appender);
+            logger.setLevel(level);
+        }
+
+        // Then - the token in the log must not be usable as a verification link
+        List<String> messages = appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+        assertTrue(messages.stream().anyMatch(message -> message.contains(token.getSelector().toString())));
+        assertTrue(messages.stream().noneMatch(message -> message.contains(token.toString())));
+    }
+
+    @Test
+    void testSendVerificationEmails_AuthenticationFailure() {
+        // Given
+        org.springframework.mail.MailAuthenticationException authException =
             new org.springframework.mail.MailAuthenticationException("Authentication failed");
-        doThrow(authException).when(mailSender).send(any(SimpleMailMessage.class));
+        doThrow(authException).when(mailSender).send(any(SimpleMailMessage[].class));
 
-        // When - Email service now catches exceptions and doesn't throw
-        emailService.sendVerificationEmail(toEmail, username, token);
+        // When
+        Map<Long, String> failures = emailService.sendVerificationEmails(List.of(
+                entry(1L, "userauth121@gmail.com"), entry(2L, "other@example.com")));
 
-        // Then - Verify send was attempted (even though it failed)
-        verify(mailSender, times(1)).send(any(SimpleMailMessage.class));
+        // Then - the whole batch is reported as failed
+        assertEquals(2, failures.size());
     }
 }
-
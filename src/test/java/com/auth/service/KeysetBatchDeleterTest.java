@@ -0,0 +1,81 @@
+package com.auth.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("KeysetBatchDeleter Tests")
+class KeysetBatchDeleterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE items (id BIGINT PRIMARY KEY, stale BOOLEAN NOT NULL)");
+        // 25 stale rows interleaved with 25 live ones
+        for (long id = 1; id <= 50; id++) {
+            jdbcTemplate.update("INSERT INTO items (id, stale) VALUES (?, ?)", id, id % 2 == 0);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private KeysetBatchDeleter deleter(int batchSize, long maxRowsPerRun) {
+        return new KeysetBatchDeleter(jdbcTemplate, meterRegistry, "items", "items", "id", "stale = ?",
+                batchSize, 0, maxRowsPerRun);
+    }
+
+    private int count(String where) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM items WHERE " + where, Integer.class);
+    }
+
+    @Test
+    @DisplayName("Deletes Only Matching Rows In Batches")
+    void testDeletesInBatches() {
+        KeysetBatchDeleter.Result result = deleter(10, 0).run(false, true);
+
+        assertEquals(25, result.rows());
+        assertEquals(3, result.batches());
+        assertEquals(0, count("stale = TRUE"));
+        assertEquals(25, count("stale = FALSE"));
+        assertEquals(25.0, meterRegistry.get("auth.reaper.deleted").tag("job", "items").counter().count());
+        assertEquals(3, meterRegistry.get("auth.reaper.batch").tag("job", "items").timer().count());
+    }
+
+    @Test
+    @DisplayName("Dry Run Counts Without Deleting")
+    void testDryRun() {
+        KeysetBatchDeleter.Result result = deleter(10, 0).run(true, true);
+
+        assertTrue(result.dryRun());
+        assertEquals(25, result.rows());
+        assertEquals(25, count("stale = TRUE"));
+        assertEquals(0.0, meterRegistry.get("auth.reaper.deleted").tag("job", "items").counter().count());
+    }
+
+    @Test
+    @DisplayName("A Run Stops At The Row Budget")
+    void testMaxRowsPerRun() {
+        KeysetBatchDeleter.Result result = deleter(10, 15).run(false, true);
+
+        assertEquals(15, result.rows());
+        assertEquals(10, count("stale = TRUE"));
+        // The next run picks up where the budget stopped this one
+        assertEquals(10, deleter(10, 15).run(false, true).rows());
+    }
+}
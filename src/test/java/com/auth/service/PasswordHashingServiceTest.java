@@ -0,0 +1,145 @@
+package com.auth.service;
+
+import com.auth.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PasswordHashingService Tests")
+class PasswordHashingServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Encode And Match On The Hashing Pool")
+    void testEncodeAndMatches() {
+        service = new PasswordHashingService(new BCryptPasswordEncoder(4), meterRegistry, 2, 4, 0, 5000, 2);
+
+        String hash = service.encode("password123");
+
+        assertTrue(service.matches("password123", hash));
+        assertFalse(service.matches("wrongpassword", hash));
+        assertEquals(3, meterRegistry.get("auth.password.hashing.wait").timer().count());
+    }
+
+    @Test
+    @DisplayName("Dummy Match Goes Through The Pool Like A Real One")
+    void testMatchesDummy() {
+        service = new PasswordHashingService(new BCryptPasswordEncoder(4), meterRegistry, 1, 4, 0, 5000, 2);
+
+        service.matchesDummy("password123");
+
+        assertEquals(1, meterRegistry.get("auth.password.hashing.wait").timer().count());
+    }
+
+    @Test
+    @DisplayName("Full Queue Fails Fast With Retry-After")
+    void testQueueFullRejected() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BCryptPasswordEncoder blockingEncoder = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if ("first".contentEquals(rawPassword)) {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        service = new PasswordHashingService(blockingEncoder, meterRegistry, 1, 1, 0, 5000, 3);
+
+        // One request occupies the only worker, a second fills the queue
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.encode("second"));
+        waitForQueueDepth(1);
+
+        ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+                () -> service.encode("third"));
+        assertEquals(3, exception.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("auth.password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertNotNull(running.get(5, TimeUnit.SECONDS));
+        assertNotNull(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Wait Beyond Timeout Is Shed")
+    void testTimeout() {
+        BCryptPasswordEncoder slowEncoder = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if ("password123".contentEquals(rawPassword)) {
+                    try {
+                        Thread.sleep(2000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        service = new PasswordHashingService(slowEncoder, meterRegistry, 1, 1, 0, 50, 2);
+
+        assertThrows(ServiceOverloadedException.class, () -> service.encode("password123"));
+    }
+
+    @Test
+    @DisplayName("Background Work Leaves Request Work The Rest Of The Pool")
+    void testBackgroundShare() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        service = new PasswordHashingService(new BCryptPasswordEncoder(4), meterRegistry, 2, 4, 1, 5000, 2);
+
+        Future<String> stuck = service.submitBackground("import", () -> {
+            started.countDown();
+            release.await();
+            return "first";
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        // Its one slot is taken, so the next background task waits in the caller, not on a worker
+        CompletableFuture<Future<String>> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return service.submitBackground("import", () -> "second");
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertNotNull(service.encode("password123"));
+        assertFalse(waiting.isDone());
+
+        release.countDown();
+        assertEquals("first", stuck.get(5, TimeUnit.SECONDS));
+        assertEquals("second", waiting.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS));
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("auth.password.hashing.queue").gauge().value() < depth) {
+            assertTrue(System.currentTimeMillis() < deadline, "Queue never reached depth " + depth);
+            Thread.sleep(10);
+        }
+    }
+}
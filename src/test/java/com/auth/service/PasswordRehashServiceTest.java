@@ -0,0 +1,90 @@
+package com.auth.service;
+
+import com.auth.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PasswordRehashService Tests")
+class PasswordRehashServiceTest {
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private PasswordRehashService service;
+
+    @BeforeEach
+    void setUp() {
+        // Not started, so flushes only happen when the test calls flush()
+        service = new PasswordRehashService(passwordHashingService, jdbcTemplate, true, 1000, 2);
+    }
+
+    @Test
+    @DisplayName("Repeated Logins Coalesce Into One Compare-And-Set Update")
+    @SuppressWarnings("unchecked")
+    void testCoalescedBatchUpdate() {
+        when(passwordHashingService.encode("password123")).thenReturn("{bcrypt}new");
+        when(jdbcTemplate.batchUpdate(eq(PasswordRehashService.UPDATE_SQL), anyList())).thenReturn(new int[]{1});
+
+        service.schedule(1L, "password123", "$2a$10$old");
+        service.schedule(1L, "password123", "$2a$10$old");
+        assertEquals(1, service.pendingCount());
+
+        assertEquals(1, service.flush());
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(PasswordRehashService.UPDATE_SQL), batch.capture());
+        assertEquals(1, batch.getValue().size());
+        assertArrayEquals(new Object[]{"{bcrypt}new", 1L, "$2a$10$old"}, batch.getValue().get(0));
+        assertEquals(0, service.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Pending Users Are Bounded")
+    void testMaxPending() {
+        service.schedule(1L, "a", "h1");
+        service.schedule(2L, "b", "h2");
+        service.schedule(3L, "c", "h3");
+
+        assertEquals(2, service.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Busy Hashing Pool Drops The Batch Without Writing")
+    void testOverloadedPoolDefers() {
+        when(passwordHashingService.encode(anyString())).thenThrow(new ServiceOverloadedException("busy", 2));
+
+        service.schedule(1L, "password123", "$2a$10$old");
+
+        assertEquals(0, service.flush());
+        assertEquals(0, service.pendingCount());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Disabled Service Ignores Requests")
+    void testDisabled() {
+        service = new PasswordRehashService(passwordHashingService, jdbcTemplate, false, 1000, 10);
+
+        service.schedule(1L, "password123", "$2a$10$old");
+
+        assertEquals(0, service.pendingCount());
+    }
+}
@@ -0,0 +1,101 @@
+package com.auth.service;
+
+import com.auth.util.SnowflakeIdGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("UnverifiedUserReaper Tests")
+class UnverifiedUserReaperTest {
+
+    private final AvailabilityService availabilityService = mock(AvailabilityService.class);
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(50) NOT NULL UNIQUE, " +
+                "enabled BOOLEAN NOT NULL, created_at TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE verification_tokens (selector BINARY(16) PRIMARY KEY, user_id BIGINT NOT NULL, " +
+                "FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE)");
+
+        LocalDateTime old = LocalDateTime.now().minusDays(30);
+        insertUser(1, "stale", false, old);
+        insertUser(2, "verified", true, old);
+        insertUser(3, "recent", false, LocalDateTime.now().minusDays(1));
+        insertUser(4, "stale2", false, old);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private void insertUser(long id, String username, boolean enabled, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO users (id, username, enabled, created_at) VALUES (?, ?, ?, ?)",
+                id, username, enabled, createdAt);
+        jdbcTemplate.update("INSERT INTO verification_tokens (selector, user_id) VALUES (?, ?)",
+                new byte[]{(byte) id, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0}, id);
+    }
+
+    private UnverifiedUserReaper reaper(boolean dryRun) {
+        return new UnverifiedUserReaper(jdbcTemplate, new SimpleMeterRegistry(), availabilityService, true, dryRun, 7, 60, 1, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Removes Old Unverified Accounts And Their Tokens")
+    void testPurge() {
+        KeysetBatchDeleter.Result result = reaper(false).purge();
+
+        assertEquals(2, result.rows());
+        assertEquals(List.of("recent", "verified"),
+                jdbcTemplate.queryForList("SELECT username FROM users ORDER BY username", String.class));
+        assertEquals(List.of(2L, 3L),
+                jdbcTemplate.queryForList("SELECT user_id FROM verification_tokens ORDER BY user_id", Long.class));
+        verify(availabilityService).rebuildAsync();
+    }
+
+    @Test
+    @DisplayName("Accounts With Ids Issued After The Cutoff Are Not Scanned")
+    void testIdBound() {
+        // created_at alone would qualify it; the id says it was created just now
+        insertUser(new SnowflakeIdGenerator(0).nextId(), "new-node", false, LocalDateTime.now().minusDays(30));
+
+        KeysetBatchDeleter.Result result = reaper(false).purge();
+
+        assertEquals(2, result.rows());
+        assertEquals(List.of("new-node", "recent", "verified"),
+                jdbcTemplate.queryForList("SELECT username FROM users ORDER BY username", String.class));
+    }
+
+    @Test
+    @DisplayName("Dry Run Keeps Every Account")
+    void testDryRun() {
+        KeysetBatchDeleter.Result result = reaper(true).purge();
+
+        assertEquals(2, result.rows());
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class));
+        verifyNoInteractions(availabilityService);
+    }
+
+    @Test
+    @DisplayName("Retention Below One Day Is Rejected")
+    void testInvalidRetention() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new UnverifiedUserReaper(jdbcTemplate, new SimpleMeterRegistry(), availabilityService, true, false, 0, 60, 100, 0, 0));
+    }
+}
@@ -0,0 +1,197 @@
+package com.auth.service;
+
+import com.auth.dto.UserImportResult;
+import com.auth.dto.UserImportSummary;
+import com.auth.util.NegativeLookupCache;
+import com.auth.util.SnowflakeIdGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@DisplayName("UserImportService Tests")
+class UserImportServiceTest {
+
+    private static final String BCRYPT_HASH = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("SecurePass123!");
+
+    private final AvailabilityService availabilityService = mock(AvailabilityService.class);
+    private final NegativeLookupCache negativeLookupCache = mock(NegativeLookupCache.class);
+    private final PasswordEncoder passwordEncoder =
+            new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", new BCryptPasswordEncoder(4)));
+    private final PasswordHashingService passwordHashingService =
+            new PasswordHashingService(passwordEncoder, new SimpleMeterRegistry(), 2, 4, 0, 5000, 2);
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private UserImportService service;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new JdbcTemplate(database);
+        // VARCHAR_IGNORECASE stands in for MySQL's case-insensitive collation
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, " +
+                "username VARCHAR_IGNORECASE(50) NOT NULL, name VARCHAR(100) NOT NULL, " +
+                "email VARCHAR_IGNORECASE(100) NOT NULL, mobile VARCHAR(15) NOT NULL, " +
+                "password_hash VARCHAR(255) NOT NULL, enabled BOOLEAN NOT NULL, " +
+                "CONSTRAINT uk_users_username UNIQUE (username), CONSTRAINT uk_users_email UNIQUE (email))");
+        jdbcTemplate.update("INSERT INTO users (id, username, name, email, mobile, password_hash, enabled) " +
+                "VALUES (1, 'existing', 'Existing User', 'existing@example.com', '1234567890', 'x', TRUE)");
+        service = service(jdbcTemplate, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.shutdown();
+        database.shutdown();
+    }
+
+    private UserImportService service(JdbcTemplate template, int batchSize) {
+        return new UserImportService(template, new DataSourceTransactionManager(database), passwordEncoder,
+                passwordHashingService, Validation.buildDefaultValidatorFactory().getValidator(), availabilityService, negativeLookupCache,
+                new SnowflakeIdGenerator(1), new SimpleMeterRegistry(), batchSize, 0);
+    }
+
+    private static UserImportParser ndjson(String... lines) {
+        return new UserImportParser(new BufferedReader(new StringReader(String.join("\n", lines))),
+                UserImportParser.Format.NDJSON, new ObjectMapper());
+    }
+
+    private static String row(String username, String email, String passwordField, String password) {
+        return "{\"username\":\"" + username + "\",\"name\":\"Imported User\",\"email\":\"" + email
+                + "\",\"mobile\":\"1234567890\",\"" + passwordField + "\":\"" + password + "\"}";
+    }
+
+    private List<UserImportResult> run(UserImportService importService, UserImportParser parser, List<UserImportSummary> summary) {
+        List<UserImportResult> results = new ArrayList<>();
+        summary.add(importService.importUsers(parser, results::addAll));
+        return results;
+    }
+
+    @Test
+    @DisplayName("Creates Enabled Accounts From Plaintext And Pre-Hashed Rows")
+    void testImport() {
+        List<UserImportSummary> summary = new ArrayList<>();
+        List<UserImportResult> results = run(service, ndjson(
+                row("alice", "Alice@Example.com", "password", "SecurePass123!"),
+                row("bob", "bob@example.com", "passwordHash", BCRYPT_HASH),
+                row("carol", "carol@example.com", "password", "SecurePass123!")), summary);
+
+        assertEquals(List.of(UserImportResult.Status.CREATED, UserImportResult.Status.CREATED, UserImportResult.Status.CREATED),
+                results.stream().map(UserImportResult::getStatus).toList());
+        assertEquals(List.of(1L, 2L, 3L), results.stream().map(UserImportResult::getLine).toList());
+        assertEquals(3, summary.get(0).getCreated());
+
+        String aliceHash = jdbcTemplate.queryForObject("SELECT password_hash FROM users WHERE username = 'alice'", String.class);
+        assertTrue(passwordEncoder.matches("SecurePass123!", aliceHash));
+        assertEquals(BCRYPT_HASH, jdbcTemplate.queryForObject("SELECT password_hash FROM users WHERE username = 'bob'", String.class));
+        assertEquals("alice@example.com", jdbcTemplate.queryForObject("SELECT email FROM users WHERE username = 'alice'", String.class));
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE enabled = TRUE", Integer.class));
+        verify(availabilityService).recordTaken("alice", "alice@example.com");
+        verify(negativeLookupCache).invalidate("bob", "bob@example.com");
+    }
+
+    @Test
+    @DisplayName("Reports Duplicates Against The Table And Within The Upload")
+    void testDuplicates() {
+        List<UserImportResult> results = run(service, ndjson(
+                row("EXISTING", "new1@example.com", "password", "SecurePass123!"),
+                row("newuser", "existing@example.com", "password", "SecurePass123!"),
+                row("dave", "dave@example.com", "password", "SecurePass123!"),
+                row("Dave", "dave2@example.com", "password", "SecurePass123!")), new ArrayList<>());
+
+        assertEquals(List.of(UserImportResult.Status.DUPLICATE, UserImportResult.Status.DUPLICATE,
+                        UserImportResult.Status.CREATED, UserImportResult.Status.DUPLICATE),
+                results.stream().map(UserImportResult::getStatus).toList());
+        assertEquals("Username already exists", results.get(0).getMessage());
+        assertEquals("Email already exists", results.get(1).getMessage());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Rejects Rows That Break The Signup Constraints")
+    void testInvalidRows() {
+        List<UserImportResult> results = run(service, ndjson(
+                row("ab", "short@example.com", "password", "SecurePass123!"),
+                row("nopass", "nopass@example.com", "password", ""),
+                row("badhash", "badhash@example.com", "passwordHash", "plaintext"),
+                "{not json",
+                row("fine", "fine@example.com", "password", "SecurePass123!")), new ArrayList<>());
+
+        assertEquals(List.of(UserImportResult.Status.INVALID, UserImportResult.Status.INVALID,
+                        UserImportResult.Status.INVALID, UserImportResult.Status.INVALID, UserImportResult.Status.CREATED),
+                results.stream().map(UserImportResult::getStatus).toList());
+        assertEquals("Username must be between 3 and 50 characters", results.get(0).getMessage());
+        assertTrue(results.get(1).getMessage().contains("Password is required"));
+        assertTrue(results.get(2).getMessage().contains("passwordHash"));
+        assertTrue(results.get(3).getMessage().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    @DisplayName("A Batch That Hits A Unique Key Is Retried Row By Row")
+    void testBatchFallback() {
+        // Hide existing rows from the pre-check, as if they were inserted concurrently
+        JdbcTemplate racing = spy(jdbcTemplate);
+        doNothing().when(racing).query(startsWith("SELECT username, email"), any(RowCallbackHandler.class), any(Object[].class));
+        UserImportService racingService = service(racing, 10);
+
+        List<UserImportResult> results = run(racingService, ndjson(
+                row("erin", "erin@example.com", "password", "SecurePass123!"),
+                row("other", "existing@example.com", "password", "SecurePass123!")), new ArrayList<>());
+
+        assertEquals(UserImportResult.Status.CREATED, results.get(0).getStatus());
+        assertEquals(UserImportResult.Status.DUPLICATE, results.get(1).getStatus());
+        assertEquals("Email already exists", results.get(1).getMessage());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE username = 'erin'", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Reads CSV With A Header And Quoted Fields")
+    void testCsv() {
+        UserImportParser parser = new UserImportParser(new BufferedReader(new StringReader(
+                "email,username,name,mobile,password\n" +
+                "frank@example.com,frank,\"Frank, \"\"The Tank\"\"\",1234567890,SecurePass123!\n" +
+                "\n" +
+                "broken@example.com,broken\n")), UserImportParser.Format.CSV, new ObjectMapper());
+
+        List<UserImportResult> results = run(service, parser, new ArrayList<>());
+
+        assertEquals(2, results.size());
+        assertEquals(UserImportResult.Status.CREATED, results.get(0).getStatus());
+        assertEquals(2, results.get(0).getLine());
+        assertEquals("Frank, \"The Tank\"", jdbcTemplate.queryForObject("SELECT name FROM users WHERE username = 'frank'", String.class));
+        assertEquals(UserImportResult.Status.INVALID, results.get(1).getStatus());
+        assertEquals(4, results.get(1).getLine());
+    }
+
+    @Test
+    @DisplayName("CSV Without A Header Is Rejected Up Front")
+    void testCsvWithoutHeader() {
+        UserImportParser parser = new UserImportParser(new BufferedReader(new StringReader(
+                "frank@example.com,frank,Frank,1234567890,SecurePass123!\n")), UserImportParser.Format.CSV, new ObjectMapper());
+
+        assertThrows(IllegalArgumentException.class, parser::peek);
+    }
+}
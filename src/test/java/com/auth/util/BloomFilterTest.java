@@ -0,0 +1,57 @@
+package com.auth.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BloomFilter Tests")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Every Added Value Is Reported")
+    void testNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("False Positive Rate Stays Near The Target At Capacity")
+    void testFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+        // 1% target; allow for hash quality and sampling noise
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Sizing Follows The Standard Formulas")
+    void testSizing() {
+        BloomFilter filter = new BloomFilter(1_000_000, 0.01);
+
+        // m = -n ln p / (ln 2)^2 ~ 9.59 Mbit, k = m/n ln 2 ~ 7
+        assertEquals(9_585_088, filter.bitCount());
+        assertEquals(7, filter.hashCount());
+        assertEquals(1_198_136, filter.memoryBytes());
+    }
+
+    @Test
+    @DisplayName("Invalid Parameters Are Rejected")
+    void testInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1.0));
+    }
+}
@@ -0,0 +1,17 @@
+package com.auth.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Identifiers Tests")
+class IdentifiersTest {
+
+    @Test
+    @DisplayName("Normalization Matches The Case And Accent Insensitive Collation")
+    void testNormalize() {
+        assertEquals("jose", Identifiers.normalize("  JOSÉ "));
+        assertEquals("user@example.com", Identifiers.normalize("User@Example.com"));
+    }
+}
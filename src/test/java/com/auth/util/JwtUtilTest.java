@@ -0,0 +1,135 @@
+package com.auth.util;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JwtUtil Tests")
+class JwtUtilTest {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hmac-sha-256-signing";
+
+    private JwtUtil jwtUtil;
+
+    private static JwtUtil newJwtUtil(long expirationMillis) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secret", SECRET);
+        ReflectionTestUtils.setField(util, "expiration", expirationMillis);
+        util.init();
+        return util;
+    }
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = newJwtUtil(60_000L);
+    }
+
+    @Test
+    @DisplayName("Verify - Exposes Subject, User Id And Expiry")
+    void testVerify_Success() {
+        String token = jwtUtil.generateToken("testuser", 42L);
+
+        ParsedToken parsed = jwtUtil.verify(token);
+
+        assertEquals("testuser", parsed.username());
+        assertEquals(42L, parsed.userId());
+        assertTrue(parsed.expiration().after(parsed.issuedAt()));
+        assertFalse(parsed.isExpired());
+    }
+
+    @Test
+    @DisplayName("Generate - User Id Claim Is A String So JavaScript Keeps Every Digit")
+    void testUserIdClaimIsString() {
+        long snowflakeId = 7_201_349_118_322_688L;
+        String token = jwtUtil.generateToken("testuser", snowflakeId);
+
+        String payload = new String(Base64.getUrlDecoder().decode(token.split("\\.")[1]), StandardCharsets.UTF_8);
+
+        assertTrue(payload.contains("\"userId\":\"7201349118322688\""), payload);
+        assertEquals(snowflakeId, jwtUtil.verify(token).userId());
+    }
+
+    @Test
+    @DisplayName("Verify - Numeric User Id From Older Tokens Still Accepted")
+    void testVerify_NumericUserId() {
+        String token = Jwts.builder()
+                .claim("userId", 42L)
+                .subject("testuser")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertEquals(42L, jwtUtil.verify(token).userId());
+    }
+
+    @Test
+    @DisplayName("Verify - Tampered Signature Rejected")
+    void testVerify_TamperedSignature() {
+        String token = jwtUtil.generateToken("testuser", 42L);
+        char last = token.charAt(token.length() - 1);
+        String tampered = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+
+        assertThrows(JwtException.class, () -> jwtUtil.verify(tampered));
+        assertFalse(jwtUtil.validateToken(tampered, "testuser"));
+    }
+
+    @Test
+    @DisplayName("Verify - Token From Another Key Rejected")
+    void testVerify_ForeignKey() {
+        JwtUtil other = new JwtUtil();
+        ReflectionTestUtils.setField(other, "secret", SECRET + "-other");
+        ReflectionTestUtils.setField(other, "expiration", 60_000L);
+        other.init();
+
+        assertThrows(JwtException.class, () -> jwtUtil.verify(other.generateToken("testuser", 42L)));
+    }
+
+    @Test
+    @DisplayName("Verify - Expired Token Rejected")
+    void testVerify_Expired() {
+        String token = newJwtUtil(-1_000L).generateToken("testuser", 42L);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.verify(token));
+        assertTrue(jwtUtil.isTokenExpired(token));
+        assertFalse(jwtUtil.validateToken(token, "testuser"));
+    }
+
+    @Test
+    @DisplayName("Validate - Username Must Match Subject")
+    void testValidateToken() {
+        String token = jwtUtil.generateToken("testuser", 42L);
+
+        assertTrue(jwtUtil.validateToken(token, "testuser"));
+        assertFalse(jwtUtil.validateToken(token, "someoneelse"));
+        assertEquals("testuser", jwtUtil.extractUsername(token));
+        assertEquals(42L, jwtUtil.extractUserId(token));
+    }
+
+    @Test
+    @DisplayName("Verify - Cached Token Skips Re-Verification")
+    void testVerify_Cached() {
+        ReflectionTestUtils.setField(jwtUtil, "cacheEnabled", true);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxSize", 100);
+        jwtUtil.init();
+        String token = jwtUtil.generateToken("testuser", 42L);
+
+        ParsedToken first = jwtUtil.verify(token);
+        ParsedToken second = jwtUtil.verify(token);
+
+        assertSame(first, second);
+        assertEquals(1, jwtUtil.getTokenCache().getHits());
+        assertThrows(JwtException.class, () -> jwtUtil.verify(token.substring(0, token.length() - 2) + "xx"));
+    }
+}
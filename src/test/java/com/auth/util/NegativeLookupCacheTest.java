@@ -0,0 +1,83 @@
+package com.auth.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NegativeLookupCache Tests")
+class NegativeLookupCacheTest {
+
+    @Test
+    @DisplayName("Recorded Miss Is Known Case-Insensitively")
+    void testRecordedMiss() {
+        NegativeLookupCache cache = new NegativeLookupCache(true, 60, 100);
+
+        cache.recordMiss("Ghost", cache.generation());
+
+        assertTrue(cache.isKnownMiss("ghost"));
+        assertTrue(cache.isKnownMiss(" GHOST "));
+        assertFalse(cache.isKnownMiss("someoneelse"));
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    @DisplayName("Signup Invalidates The Miss")
+    void testInvalidate() {
+        NegativeLookupCache cache = new NegativeLookupCache(true, 60, 100);
+        cache.recordMiss("ghost", cache.generation());
+        cache.recordMiss("ghost@example.com", cache.generation());
+
+        cache.invalidate("Ghost", "ghost@example.com");
+
+        assertFalse(cache.isKnownMiss("ghost"));
+        assertFalse(cache.isKnownMiss("ghost@example.com"));
+    }
+
+    @Test
+    @DisplayName("Signup Of An Accent Variant Invalidates The Miss")
+    void testInvalidateAccentVariant() {
+        // MySQL matches "josé" against an account named "Jose", so the miss must go
+        NegativeLookupCache cache = new NegativeLookupCache(true, 60, 100);
+        cache.recordMiss("josé", cache.generation());
+
+        cache.invalidate("Jose", "jose@example.com");
+
+        assertFalse(cache.isKnownMiss("josé"));
+    }
+
+    @Test
+    @DisplayName("Miss From A Lookup That Raced A Signup Is Discarded")
+    void testStaleGeneration() {
+        NegativeLookupCache cache = new NegativeLookupCache(true, 60, 100);
+        long generation = cache.generation();
+
+        cache.invalidate("ghost", "ghost@example.com");
+        cache.recordMiss("ghost", generation);
+
+        assertFalse(cache.isKnownMiss("ghost"));
+    }
+
+    @Test
+    @DisplayName("Expired Miss Is Forgotten")
+    void testTtl() {
+        NegativeLookupCache cache = new NegativeLookupCache(true, 0, 100);
+
+        cache.recordMiss("ghost", cache.generation());
+
+        assertFalse(cache.isKnownMiss("ghost"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Size Stays Within Bound")
+    void testBounded() {
+        NegativeLookupCache cache = new NegativeLookupCache(true, 60, 100);
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.recordMiss("ghost" + i, cache.generation());
+        }
+
+        assertTrue(cache.size() <= 100);
+    }
+}
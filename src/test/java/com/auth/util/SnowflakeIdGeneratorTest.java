@@ -0,0 +1,90 @@
+package com.auth.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SnowflakeIdGenerator Tests")
+class SnowflakeIdGeneratorTest {
+
+    @Test
+    @DisplayName("Ids Strictly Increase Beyond 4096 Per Millisecond")
+    void testMonotonic() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+        long previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            assertEquals(7, SnowflakeIdGenerator.nodeId(id));
+            previous = id;
+        }
+    }
+
+    @Test
+    @DisplayName("Ids Carry The Node And Creation Time")
+    void testLayout() {
+        long before = System.currentTimeMillis();
+        long id = new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID).nextId();
+
+        assertTrue(id > 0);
+        assertEquals(SnowflakeIdGenerator.MAX_NODE_ID, SnowflakeIdGenerator.nodeId(id));
+        long createdAt = SnowflakeIdGenerator.timestampMillis(id);
+        assertTrue(createdAt >= before && createdAt <= System.currentTimeMillis());
+    }
+
+    @Test
+    @DisplayName("The Minimum Id Of A Millisecond Bounds Every Id Issued From Then On")
+    void testMinIdAt() {
+        long now = System.currentTimeMillis();
+        long id = new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID).nextId();
+
+        assertTrue(SnowflakeIdGenerator.minIdAt(now) <= id);
+        assertTrue(SnowflakeIdGenerator.minIdAt(now + 1000) > id);
+        assertEquals(now, SnowflakeIdGenerator.timestampMillis(SnowflakeIdGenerator.minIdAt(now)));
+        assertEquals(0, SnowflakeIdGenerator.minIdAt(SnowflakeIdGenerator.EPOCH_MILLIS - 1000));
+    }
+
+    @Test
+    @DisplayName("Nodes Never Collide")
+    void testNodesDiffer() {
+        SnowflakeIdGenerator first = new SnowflakeIdGenerator(1);
+        SnowflakeIdGenerator second = new SnowflakeIdGenerator(2);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(ids.add(first.nextId()));
+            assertTrue(ids.add(second.nextId()));
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent Callers Get Unique Ids")
+    void testConcurrent() throws InterruptedException {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(160_000, ids.size());
+    }
+
+    @Test
+    @DisplayName("Node Id Must Fit In 10 Bits")
+    void testNodeIdRange() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1024));
+    }
+}
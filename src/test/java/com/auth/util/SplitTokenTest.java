@@ -0,0 +1,64 @@
+package com.auth.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SplitToken Tests")
+class SplitTokenTest {
+
+    @Test
+    @DisplayName("Generated Token Round-Trips Through Parse")
+    void testRoundTrip() {
+        SplitToken token = SplitToken.generate();
+
+        SplitToken parsed = SplitToken.parse(token.toString()).orElseThrow();
+
+        assertEquals(66, token.toString().length());
+        assertEquals(token.getSelector(), parsed.getSelector());
+        assertTrue(parsed.matches(token.getValidatorHash()));
+        assertEquals(32, token.getValidatorHash().length);
+    }
+
+    @Test
+    @DisplayName("Different Validator Does Not Match")
+    void testWrongValidator() {
+        SplitToken token = SplitToken.generate();
+        SplitToken other = SplitToken.generate();
+
+        assertFalse(other.matches(token.getValidatorHash()));
+        assertFalse(token.matches(null));
+    }
+
+    @Test
+    @DisplayName("Legacy UUID Token Maps To The Migrated Columns")
+    void testLegacyUuid() throws Exception {
+        String legacy = UUID.randomUUID().toString();
+
+        SplitToken parsed = SplitToken.parse(legacy).orElseThrow();
+
+        // V5 set selector = UNHEX(REPLACE(token, '-', '')) and validator_hash = UNHEX(SHA2(token, 256))
+        assertEquals(UUID.fromString(legacy), parsed.getSelector());
+        assertEquals(legacy.replace("-", ""), HexFormat.of().formatHex(parsed.getSelectorBytes()));
+        byte[] migratedHash = MessageDigest.getInstance("SHA-256").digest(legacy.getBytes(StandardCharsets.UTF_8));
+        assertTrue(parsed.matches(migratedHash));
+    }
+
+    @Test
+    @DisplayName("Malformed Tokens Are Rejected Without Throwing")
+    void testMalformed() {
+        assertTrue(SplitToken.parse(null).isEmpty());
+        assertTrue(SplitToken.parse("").isEmpty());
+        assertTrue(SplitToken.parse("invalid-token-12345").isEmpty());
+        assertTrue(SplitToken.parse("not-a-uuid-but-thirty-six-characters").isEmpty());
+        String token = SplitToken.generate().toString();
+        assertTrue(SplitToken.parse(token.replace('.', '!')).isEmpty());
+        assertTrue(SplitToken.parse(token.substring(0, 65) + "*").isEmpty());
+    }
+}
@@ -0,0 +1,65 @@
+package com.auth.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("VerifiedTokenCache Tests")
+class VerifiedTokenCacheTest {
+
+    private static ParsedToken parsed(String username, long expiresInMillis) {
+        long now = System.currentTimeMillis();
+        return new ParsedToken(username, 1L, new Date(now), new Date(now + expiresInMillis));
+    }
+
+    @Test
+    @DisplayName("Hit Returns Cached Claims")
+    void testHit() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        ParsedToken claims = parsed("testuser", 60_000L);
+
+        assertNull(cache.get("header.payload.signature"));
+        cache.put("header.payload.signature", claims);
+
+        assertSame(claims, cache.get("header.payload.signature"));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("Same Signature With Different Payload Misses")
+    void testSignatureReusedWithOtherPayload() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        cache.put("header.payload.signature", parsed("testuser", 60_000L));
+
+        assertNull(cache.get("header.forged.signature"));
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    @DisplayName("Expired Entry Is Evicted On Read")
+    void testExpiredEntry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        cache.put("header.payload.signature", parsed("testuser", -1L));
+
+        assertNull(cache.get("header.payload.signature"));
+        assertEquals(1, cache.getEvictions());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Size Stays Within Bound")
+    void testBounded() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100);
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.put("header.payload.sig" + i, parsed("user" + i, 60_000L));
+        }
+
+        assertTrue(cache.size() <= 100);
+        assertTrue(cache.getEvictions() >= 900);
+    }
+}